@@ -0,0 +1,122 @@
+package com.example.Book.Store.Application.benchmark;
+
+import com.example.Book.Store.Application.BookStoreApplication;
+import com.example.Book.Store.Application.cache.BookCache;
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.BookPage;
+import com.example.Book.Store.Application.service.BookBulkService;
+import com.example.Book.Store.Application.service.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BookService} reads against the embedded H2 database, with the
+ * application context started without the web layer and a seeded catalogue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class BookServiceBenchmark {
+    private static final int IDS_PER_REQUEST = 100;
+
+    @Param({"10000"})
+    private int catalogueSize;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private BookCache bookCache;
+    private int[] ids;
+    private List<List<Integer>> idRequests;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BookStoreApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "book.bulk.max-items=" + catalogueSize)
+                .run();
+        bookService = context.getBean(BookService.class);
+        bookCache = context.getBean(BookCache.class);
+
+        List<BookDTO> books = new ArrayList<>(catalogueSize);
+        for (int i = 0; i < catalogueSize; i++) {
+            books.add(BookDTO.builder()
+                    .bookTitle("Benchmark Title " + i)
+                    .bookAuthor("Benchmark Author " + i)
+                    .bookYear(1900 + i % 125)
+                    .build());
+        }
+        context.getBean(BookBulkService.class).createBooks(books);
+        ids = bookService.getAllBooks().stream().mapToInt(BookDTO::id).toArray();
+
+        SplittableRandom random = new SplittableRandom(42);
+        idRequests = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            List<Integer> request = new ArrayList<>(IDS_PER_REQUEST);
+            for (int j = 0; j < IDS_PER_REQUEST; j++) {
+                request.add(ids[random.nextInt(ids.length)]);
+            }
+            idRequests.add(request);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<BookDTO> getBookByIdCached() {
+        return bookService.getBookById(ids[next++ % Math.min(1024, ids.length)]);
+    }
+
+    @Benchmark
+    public Optional<BookDTO> getBookByIdUncached() {
+        int id = ids[next++ % ids.length];
+        bookCache.evict(id);
+        return bookService.getBookById(id);
+    }
+
+    @Benchmark
+    public List<BookDTO> getBookByIdsUncached() {
+        bookCache.evictAll();
+        return bookService.getBookByIds(idRequests.get(next++ & 63));
+    }
+
+    @Benchmark
+    public BookPage getBookPage() {
+        return bookService.getBookPage(ids[next++ % (ids.length - 100)], 100);
+    }
+
+    @Benchmark
+    public List<BookDTO> getAllBooks() {
+        return bookService.getAllBooks();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.Book.Store.Application.benchmark;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes a {@code BookDTO} list the way the list endpoints can send it: JSON
+ * or CBOR, each uncompressed, gzipped or deflated. The payload size of each
+ * combination is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ListEncodingBenchmark {
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"none", "gzip", "deflate"})
+    private String compression;
+
+    private ObjectWriter listWriter;
+    private List<BookDTO> books;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = "cbor".equals(format)
+                ? Jackson2ObjectMapperBuilder.cbor().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, BookDTO.class));
+        books = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            books.add(BookDTO.builder()
+                    .id(i)
+                    .bookTitle("Book Title " + i)
+                    .bookAuthor("Book Author " + (i % 1000))
+                    .bookYear(1900 + i % 125)
+                    .version(0L)
+                    .build());
+        }
+        System.out.printf("%n%s/%s, %d books: %d bytes%n", format, compression, size, encode().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        try (OutputStream out = compress(bytes)) {
+            listWriter.writeValue(out, books);
+        }
+        return bytes.toByteArray();
+    }
+
+    private OutputStream compress(ByteArrayOutputStream bytes) throws IOException {
+        return switch (compression) {
+            case "gzip" -> new GZIPOutputStream(bytes, 8192);
+            case "deflate" -> new DeflaterOutputStream(bytes);
+            default -> bytes;
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.Book.Store.Application.benchmark;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.mapper.BookMapper;
+import com.example.Book.Store.Application.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class MapperBenchmark {
+    private final BookMapper mapper = new BookMapper();
+    private Book book;
+    private BookDTO bookDTO;
+
+    @Setup
+    public void setUp() {
+        book = Book.builder()
+                .id(42)
+                .bookTitle("The Left Hand of Darkness")
+                .bookAuthor("Ursula K. Le Guin")
+                .bookYear(1969)
+                .version(3L)
+                .build();
+        bookDTO = mapper.mapToDTO(book);
+    }
+
+    @Benchmark
+    public BookDTO mapToDTO() {
+        return mapper.mapToDTO(book);
+    }
+
+    @Benchmark
+    public Book mapToEntity() {
+        return mapper.mapToEntity(bookDTO);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.Book.Store.Application.benchmark;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.util.BookIds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code X-MISSING-SET} computation of the multi-get endpoint: requested
+ * ids with some duplicates, a fraction of which were not found.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class MissingIdsBenchmark {
+    @Param({"10", "1000"})
+    private int requested;
+
+    @Param({"0.0", "0.5"})
+    private double missingRatio;
+
+    private List<Integer> requestedIds;
+    private List<BookDTO> found;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        requestedIds = new ArrayList<>(requested);
+        found = new ArrayList<>(requested);
+        for (int i = 0; i < requested; i++) {
+            int id = random.nextInt(1, requested * 10);
+            requestedIds.add(id);
+            if (random.nextDouble() >= missingRatio) {
+                found.add(BookDTO.builder().id(id).build());
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Integer> missing() {
+        return BookIds.missing(requestedIds, found);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.Book.Store.Application.benchmark;
+
+import com.example.Book.Store.Application.BookStoreApplication;
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.mapper.Mapper;
+import com.example.Book.Store.Application.model.Book;
+import com.example.Book.Store.Application.repository.BookRepository;
+import com.example.Book.Store.Application.service.BookBulkService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Managed entities copied through the {@link Mapper} against JPQL constructor
+ * projections into {@link BookDTO}, straight on {@link BookRepository} so the
+ * cache is not involved. Run with the default {@code gc} profiler to compare
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ReadPathBenchmark {
+    private static final int IDS_PER_REQUEST = 100;
+
+    @Param({"10000"})
+    private int catalogueSize;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private Mapper<Book, BookDTO> mapper;
+    private int[] ids;
+    private List<List<Integer>> idRequests;
+    private int next;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = new SpringApplicationBuilder(BookStoreApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "book.bulk.max-items=" + catalogueSize)
+                .run();
+        bookRepository = context.getBean(BookRepository.class);
+        mapper = context.getBean(Mapper.class);
+
+        List<BookDTO> books = new ArrayList<>(catalogueSize);
+        for (int i = 0; i < catalogueSize; i++) {
+            books.add(BookDTO.builder()
+                    .bookTitle("Benchmark Title " + i)
+                    .bookAuthor("Benchmark Author " + i)
+                    .bookYear(1900 + i % 125)
+                    .build());
+        }
+        context.getBean(BookBulkService.class).createBooks(books);
+        ids = bookRepository.findAllDtos().stream().mapToInt(BookDTO::id).toArray();
+
+        SplittableRandom random = new SplittableRandom(42);
+        idRequests = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            List<Integer> request = new ArrayList<>(IDS_PER_REQUEST);
+            for (int j = 0; j < IDS_PER_REQUEST; j++) {
+                request.add(ids[random.nextInt(ids.length)]);
+            }
+            idRequests.add(request);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<BookDTO> byIdEntity() {
+        return bookRepository.findById(ids[next++ % ids.length]).map(mapper::mapToDTO);
+    }
+
+    @Benchmark
+    public Optional<BookDTO> byIdProjection() {
+        return bookRepository.findDtoById(ids[next++ % ids.length]);
+    }
+
+    @Benchmark
+    public List<BookDTO> byIdsEntity() {
+        return bookRepository.findAllById(idRequests.get(next++ & 63)).stream().map(mapper::mapToDTO).toList();
+    }
+
+    @Benchmark
+    public List<BookDTO> byIdsProjection() {
+        return bookRepository.findDtosByIdIn(idRequests.get(next++ & 63));
+    }
+
+    @Benchmark
+    public List<BookDTO> allEntity() {
+        return bookRepository.findAll().stream().map(mapper::mapToDTO).toList();
+    }
+
+    @Benchmark
+    public List<BookDTO> allProjection() {
+        return bookRepository.findAllDtos();
+    }
+}
@@ -0,0 +1,32 @@
+#!/bin/sh
+# Runs the load test once per server mode with the same rate and mix, and
+# prints the reports side by side:
+#   platform  Spring MVC + JPA on platform threads
+#   virtual   Spring MVC + JPA on virtual threads ("virtual" profile)
+#   reactive  WebFlux + R2DBC ("reactive" profile)
+# Pass modes first to run a subset; remaining arguments go to Maven,
+# e.g. ./compare-stacks.sh platform reactive -Dloadtest.rate=3000. Needs JDK 21.
+set -e
+cd "$(dirname "$0")/../.."
+
+modes=""
+while [ $# -gt 0 ]; do
+    case "$1" in
+        platform|virtual|reactive) modes="$modes $1"; shift ;;
+        *) break ;;
+    esac
+done
+[ -z "$modes" ] && modes="platform virtual reactive"
+
+for mode in $modes; do
+    profiles=""
+    [ "$mode" != platform ] && profiles="-Dspring-boot.run.profiles=$mode"
+    mvn -B -q -Ploadtest -DskipTests $profiles \
+        -Dloadtest.report="target/loadtest-$mode.txt" \
+        -Dloadtest.rate=2000 -Dloadtest.warmup-seconds=30 -Dloadtest.max-in-flight=5000 "$@" verify > "target/loadtest-$mode.log" 2>&1
+done
+
+for mode in $modes; do
+    echo "== $mode"
+    cat "target/loadtest-$mode.txt"
+done
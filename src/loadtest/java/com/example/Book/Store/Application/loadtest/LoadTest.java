@@ -0,0 +1,192 @@
+package com.example.Book.Store.Application.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load test against a running application. Requests are sent at a
+ * fixed arrival rate whether or not earlier ones have completed, and latency
+ * is measured from the time a request was scheduled, so a stalled server
+ * shows up in the percentiles instead of silently lowering the request rate.
+ * <p>
+ * Configured with system properties, see {@link #main}. Run against the
+ * application booted by the {@code loadtest} Maven profile with
+ * {@code mvn -Ploadtest -DskipTests verify}.
+ */
+public class LoadTest {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient httpClient;
+    private final Workload workload;
+    private final int rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final Stats total = new Stats();
+
+    public LoadTest(HttpClient httpClient, Workload workload, int rate, Duration warmup, Duration duration, int maxInFlight) {
+        this.httpClient = httpClient;
+        this.workload = workload;
+        this.rate = rate;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI baseUri = URI.create(System.getProperty("loadtest.url", "http://localhost:8083"));
+        int rate = Integer.getInteger("loadtest.rate", 200);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 60));
+        int seed = Integer.getInteger("loadtest.seed", 10000);
+        int maxInFlight = Integer.getInteger("loadtest.max-in-flight", 1000);
+        String mix = System.getProperty("loadtest.mix", "GET=50,MULTI_GET=20,ALL=2,CREATE=10,UPDATE=13,DELETE=5");
+        String maxP99Millis = System.getProperty("loadtest.max-p99-ms");
+        Path report = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.txt"));
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Workload workload = new Workload(baseUri, httpClient, parseMix(mix));
+        workload.seed(seed);
+        System.out.printf("Seeded %d books, running %d req/s for %ds after %ds warmup, mix %s%n",
+                workload.seededBooks(), rate, duration.toSeconds(), warmup.toSeconds(), mix);
+
+        LoadTest loadTest = new LoadTest(httpClient, workload, rate, warmup, duration, maxInFlight);
+        loadTest.run();
+
+        String summary = loadTest.summary();
+        System.out.print(summary);
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        Files.writeString(report, summary, StandardCharsets.UTF_8);
+
+        if (maxP99Millis != null) {
+            double p99Millis = loadTest.total.histogram.getValueAtPercentile(99) / 1000.0;
+            if (p99Millis > Double.parseDouble(maxP99Millis)) {
+                System.err.printf("p99 %.2f ms exceeds loadtest.max-p99-ms %s%n", p99Millis, maxP99Millis);
+                System.exit(1);
+            }
+        }
+    }
+
+    public void run() throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(scheduled, scheduled >= measureFrom);
+        }
+
+        if (!inFlight.tryAcquire(maxInFlight, 60, TimeUnit.SECONDS)) {
+            System.err.println("Requests still in flight after 60s");
+        }
+    }
+
+    private void send(long scheduled, boolean measured) {
+        Workload.Request request = workload.request(workload.nextOperation());
+        Stats operationStats = stats.get(request.operation());
+        if (!inFlight.tryAcquire()) {
+            if (measured) {
+                operationStats.dropped.incrementAndGet();
+                total.dropped.incrementAndGet();
+            }
+            return;
+        }
+        httpClient.sendAsync(request.httpRequest(), HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    long latencyMicros = (System.nanoTime() - scheduled) / 1000;
+                    inFlight.release();
+                    boolean failed = error != null || response.statusCode() >= 400;
+                    if (response != null) {
+                        workload.onResponse(request.operation(), response);
+                    }
+                    if (measured) {
+                        operationStats.record(latencyMicros, failed);
+                        total.record(latencyMicros, failed);
+                    }
+                });
+    }
+
+    private String summary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%-10s %9s %9s %8s %8s %10s %10s %10s %10s%n",
+                "operation", "requests", "req/s", "errors", "dropped", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        Map<String, Stats> rows = new LinkedHashMap<>();
+        stats.forEach((operation, operationStats) -> rows.put(operation.name(), operationStats));
+        rows.put("TOTAL", total);
+        double seconds = duration.toNanos() / 1e9;
+        rows.forEach((name, row) -> {
+            Histogram histogram = row.histogram;
+            summary.append(String.format("%-10s %9d %9.1f %8d %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    name,
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / seconds,
+                    row.errors.get(),
+                    row.dropped.get(),
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0));
+        });
+        return summary.toString();
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entry must be OPERATION=weight: " + entry);
+            }
+            weights.put(Operation.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static final class Stats {
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+
+        private void record(long latencyMicros, boolean failed) {
+            histogram.recordValue(Math.min(Math.max(latencyMicros, 1), HIGHEST_TRACKABLE_MICROS));
+            if (failed) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.Book.Store.Application.loadtest;
+
+public enum Operation {
+    GET,
+    MULTI_GET,
+    ALL,
+    CREATE,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,152 @@
+package com.example.Book.Store.Application.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start benchmark. Launches the extracted application jar repeatedly in
+ * each startup mode and measures the time from process start to the first
+ * successful response, so JVM startup, context refresh, Flyway and the first
+ * request's lazy initialization are all counted. Modes are interleaved run by
+ * run, so drift on the machine affects them alike.
+ * <p>
+ * Configured with system properties, see {@link #main}. Run by the
+ * {@code aot} Maven profile with {@code mvn -Paot -DskipTests verify}.
+ */
+public class StartupBenchmark {
+    private static final Map<String, List<String>> MODES = new LinkedHashMap<>();
+
+    static {
+        MODES.put("default", List.of());
+        MODES.put("trimmed", List.of("-Dspring.profiles.active=aot"));
+        MODES.put("aot", List.of("-Dspring.profiles.active=aot", "-Dspring.aot.enabled=true"));
+        MODES.put("aot+cds", List.of("-Dspring.profiles.active=aot", "-Dspring.aot.enabled=true",
+                "-XX:SharedArchiveFile=application.jsa"));
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+    private final Path directory;
+    private final String jar;
+    private final int port;
+    private final String path;
+    private final Duration timeout;
+
+    public StartupBenchmark(Path directory, String jar, int port, String path, Duration timeout) {
+        this.directory = directory;
+        this.jar = jar;
+        this.port = port;
+        this.path = path;
+        this.timeout = timeout;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Path.of(System.getProperty("startup.dir", "target/cds"));
+        String jar = System.getProperty("startup.jar", "Book-Store-Application-0.0.1-SNAPSHOT.jar");
+        int runs = Integer.getInteger("startup.runs", 10);
+        int port = Integer.getInteger("startup.port", 18083);
+        String path = System.getProperty("startup.path", "/api/book/all");
+        Duration timeout = Duration.ofSeconds(Integer.getInteger("startup.timeout-seconds", 120));
+        List<String> modes = Arrays.asList(System.getProperty("startup.modes", String.join(",", MODES.keySet())).split(","));
+        Path report = Path.of(System.getProperty("startup.report", "target/startup-report.txt"));
+
+        StartupBenchmark benchmark = new StartupBenchmark(directory, jar, port, path, timeout);
+        Map<String, List<Long>> samples = new LinkedHashMap<>();
+        for (String mode : modes) {
+            if (!MODES.containsKey(mode)) {
+                throw new IllegalArgumentException("Unknown startup mode " + mode + ", expected one of " + MODES.keySet());
+            }
+            samples.put(mode, new ArrayList<>(runs));
+        }
+        System.out.printf("Starting %s %d times per mode %s, until GET %s succeeds%n", jar, runs, modes, path);
+
+        for (int run = 0; run < runs; run++) {
+            for (String mode : modes) {
+                long millis = benchmark.timeToFirstRequest(mode);
+                samples.get(mode).add(millis);
+                System.out.printf("run %d %-8s %6d ms%n", run + 1, mode, millis);
+            }
+        }
+
+        String summary = summary(samples);
+        System.out.print(summary);
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        Files.writeString(report, summary, StandardCharsets.UTF_8);
+    }
+
+    public long timeToFirstRequest(String mode) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add("java");
+        command.addAll(MODES.get(mode));
+        command.add("-jar");
+        command.add(jar);
+        command.add("--server.port=" + port);
+
+        File log = directory.resolve("startup-" + mode.replace('+', '-') + ".log").toFile();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log))
+                .start();
+        try {
+            long deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode + " exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(mode + " did not answer within " + timeout.toSeconds() + "s, see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static String summary(Map<String, List<Long>> samples) {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%-8s %5s %10s %10s %10s %10s%n", "mode", "runs", "min ms", "p50 ms", "mean ms", "max ms"));
+        samples.forEach((mode, millis) -> {
+            List<Long> sorted = millis.stream().sorted().toList();
+            summary.append(String.format("%-8s %5d %10d %10d %10.1f %10d%n",
+                    mode,
+                    sorted.size(),
+                    sorted.get(0),
+                    sorted.get(sorted.size() / 2),
+                    sorted.stream().mapToLong(Long::longValue).average().orElse(0),
+                    sorted.get(sorted.size() - 1)));
+        });
+        return summary.toString();
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.Book.Store.Application.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seeds the catalogue and builds the requests of the mix. Reads and updates
+ * target the seeded books; deletes only remove books created during the run,
+ * so the catalogue keeps its size. Authors are unique per run because the
+ * column is. Seeding falls back to single creates when the server has no bulk
+ * endpoint, as with the reactive profile.
+ */
+public class Workload {
+    private static final int MULTI_GET_IDS = 20;
+    private static final int SEED_BATCH = 5000;
+    private static final int SEED_CONCURRENCY = 64;
+
+    private final URI baseUri;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Operation, Integer> weights;
+    private final int totalWeight;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentLinkedDeque<Integer> createdIds = new ConcurrentLinkedDeque<>();
+    private int[] seededIds = new int[0];
+
+    public Workload(URI baseUri, HttpClient httpClient, Map<Operation, Integer> weights) {
+        this.baseUri = baseUri;
+        this.httpClient = httpClient;
+        this.weights = new EnumMap<>(weights);
+        this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("At least one operation needs a positive weight");
+        }
+    }
+
+    public void seed(int books) throws IOException, InterruptedException {
+        List<Integer> ids = new ArrayList<>(books);
+        for (int from = 0; from < books; from += SEED_BATCH) {
+            List<ObjectNode> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(books, from + SEED_BATCH); i++) {
+                batch.add(book());
+            }
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(baseUri.resolve("/api/book/bulk"))
+                            .header("Content-Type", "application/json")
+                            .timeout(Duration.ofMinutes(2))
+                            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(batch)))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 404 || response.statusCode() == 405) {
+                seedOneByOne(books - from, ids);
+                break;
+            }
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode item : objectMapper.readTree(response.body()).path("items")) {
+                if ("CREATED".equals(item.path("status").asText())) {
+                    ids.add(item.path("id").asInt());
+                }
+            }
+        }
+        seededIds = ids.stream().mapToInt(Integer::intValue).toArray();
+        if (seededIds.length == 0) {
+            throw new IllegalStateException("No books were seeded");
+        }
+    }
+
+    private void seedOneByOne(int books, List<Integer> ids) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(SEED_CONCURRENCY);
+        List<CompletableFuture<Void>> creates = new ArrayList<>(books);
+        for (int i = 0; i < books; i++) {
+            inFlight.acquire();
+            creates.add(httpClient.sendAsync(withBody(baseUri.resolve("/api/book"), "POST", book()),
+                            HttpResponse.BodyHandlers.ofString())
+                    .thenAccept(response -> {
+                        if (response.statusCode() != 201) {
+                            throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+                        }
+                        try {
+                            int id = objectMapper.readTree(response.body()).path("id").asInt();
+                            synchronized (ids) {
+                                ids.add(id);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .whenComplete((ignored, e) -> inFlight.release()));
+        }
+        CompletableFuture.allOf(creates.toArray(CompletableFuture[]::new)).join();
+    }
+
+    public int seededBooks() {
+        return seededIds.length;
+    }
+
+    public Operation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    /**
+     * @return the request, or a create when a delete finds nothing to remove
+     */
+    public Request request(Operation operation) {
+        return switch (operation) {
+            case GET -> new Request(operation, get("/api/book/" + randomSeededId()));
+            case MULTI_GET -> {
+                StringBuilder query = new StringBuilder("/api/book?");
+                for (int i = 0; i < MULTI_GET_IDS; i++) {
+                    query.append(i == 0 ? "" : "&").append("id=").append(randomSeededId());
+                }
+                yield new Request(operation, get(query.toString()));
+            }
+            case ALL -> new Request(operation, get("/api/book/all"));
+            case CREATE -> new Request(operation, withBody(baseUri.resolve("/api/book"), "POST", book()));
+            case UPDATE -> new Request(operation, withBody(baseUri.resolve("/api/book/" + randomSeededId()), "PUT", book()));
+            case DELETE -> {
+                Integer id = createdIds.pollFirst();
+                yield id == null
+                        ? request(Operation.CREATE)
+                        : new Request(operation, HttpRequest.newBuilder(baseUri.resolve("/api/book/" + id)).DELETE().build());
+            }
+        };
+    }
+
+    public void onResponse(Operation operation, HttpResponse<byte[]> response) {
+        if (operation == Operation.CREATE && response.statusCode() == 201) {
+            try {
+                createdIds.addLast(objectMapper.readTree(response.body()).path("id").asInt());
+            } catch (IOException e) {
+                throw new IllegalStateException("Unreadable create response", e);
+            }
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).GET().build();
+    }
+
+    private HttpRequest withBody(URI uri, String method, ObjectNode body) {
+        try {
+            return HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ObjectNode book() {
+        long n = sequence.incrementAndGet();
+        return objectMapper.createObjectNode()
+                .put("bookTitle", "Load Title " + n)
+                .put("bookAuthor", "Load " + runId + " " + n)
+                .put("bookYear", 1900 + (int) (n % 125));
+    }
+
+    private int randomSeededId() {
+        return seededIds[ThreadLocalRandom.current().nextInt(seededIds.length)];
+    }
+
+    public record Request(Operation operation, HttpRequest httpRequest) {
+    }
+}
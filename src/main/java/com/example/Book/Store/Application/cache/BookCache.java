@@ -0,0 +1,109 @@
+package com.example.Book.Store.Application.cache;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Size and TTL bounded read-through cache of {@link BookDTO} by id.
+ * Concurrent misses for the same id are collapsed into a single load; ids that
+ * are not found are not cached.
+ * <p>
+ * The load runs on the first caller's thread after a pending future has been
+ * installed, not inside the map's compute lock, so a virtual thread blocking
+ * on JDBC never pins its carrier and other callers wait on the future.
+ */
+@Component
+public class BookCache {
+    private final AsyncCache<Integer, BookDTO> cache;
+
+    public BookCache(@Value("${book.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${book.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Optional<BookDTO> get(Integer id, Function<Integer, Optional<BookDTO>> loader) {
+        CompletableFuture<BookDTO> pending = new CompletableFuture<>();
+        CompletableFuture<BookDTO> future = cache.get(id, (key, executor) -> pending);
+        if (future == pending) {
+            try {
+                pending.complete(loader.apply(id).orElse(null));
+            } catch (RuntimeException | Error e) {
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return Optional.ofNullable(future.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Starts a load for {@code id} unless it is cached or already loading,
+     * without blocking. The owner of the returned lookup completes its future
+     * with the book or {@code null}; as with {@link #get}, an eviction before
+     * then discards the result instead of caching it.
+     */
+    public Lookup lookup(Integer id) {
+        CompletableFuture<BookDTO> pending = new CompletableFuture<>();
+        CompletableFuture<BookDTO> future = cache.get(id, (key, executor) -> pending);
+        return new Lookup(future, future == pending);
+    }
+
+    /**
+     * Does not wait for a load in flight.
+     */
+    public Optional<BookDTO> getIfPresent(Integer id) {
+        CompletableFuture<BookDTO> future = cache.getIfPresent(id);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(future.getNow(null));
+    }
+
+    public void put(BookDTO bookDTO) {
+        cache.synchronous().put(bookDTO.id(), bookDTO);
+    }
+
+    public void evict(Integer id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    public void evictAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public Cache<Integer, BookDTO> nativeCache() {
+        return cache.synchronous();
+    }
+
+    /**
+     * @param future the cached or loading book, completing with {@code null} when not found
+     * @param owner  whether the caller installed the future and must complete it
+     */
+    public record Lookup(CompletableFuture<BookDTO> future, boolean owner) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.Book.Store.Application.cache;
+
+import com.example.Book.Store.Application.event.BookChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Changes whenever a book write commits, so list responses can be validated
+ * without reading the table. The epoch keeps values from an earlier run from
+ * matching after a restart.
+ */
+@Component
+public class CatalogueVersion {
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong changes = new AtomicLong();
+
+    public String current() {
+        return epoch + "-" + changes.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        changes.incrementAndGet();
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.Book.Store.Application.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission control for {@code /api/book}. Each request is charged a token
+ * from its client's bucket for its {@link EndpointClass} and answered with
+ * 429 when the bucket is empty, then takes a slot from the class's
+ * {@link AdaptiveConcurrencyLimit} and is answered with 503 when none is free.
+ * Both carry {@code Retry-After}. Runs ahead of the request log, so a shed
+ * request costs no more than the check.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionFilter extends OncePerRequestFilter implements MeterBinder {
+    private static final byte[] TOO_MANY_REQUESTS =
+            "{\"message\":\"Too many requests\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OVERLOADED =
+            "{\"message\":\"Server is busy\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final AdmissionProperties properties;
+    private final Map<EndpointClass, ClassAdmission> admissions = new EnumMap<>(EndpointClass.class);
+
+    public AdmissionFilter(AdmissionProperties properties) {
+        this.properties = properties;
+        properties.classes().forEach((endpointClass, limits) ->
+                admissions.put(endpointClass, new ClassAdmission(limits, properties)));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled() || admissions.isEmpty()
+                || !request.getRequestURI().startsWith(EndpointClass.PREFIX, request.getContextPath().length());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ClassAdmission admission = admissions.get(EndpointClass.of(request));
+        if (admission == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        long waitNanos = admission.buckets.get(clientOf(request),
+                client -> new TokenBucket(admission.rate, admission.burst, startNanos)).tryAcquire(startNanos);
+        if (waitNanos > 0) {
+            admission.rateRejected.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos, TOO_MANY_REQUESTS);
+            return;
+        }
+        if (admission.limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!admission.limit.tryAcquire()) {
+            admission.concurrencyRejected.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, properties.retryAfter().toNanos(), OVERLOADED);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        admission.limit.release(System.nanoTime() - startNanos);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                admission.limit.release(System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        if (!properties.clientHeader().isEmpty()) {
+            String client = request.getHeader(properties.clientHeader());
+            if (client != null && !client.isEmpty()) {
+                return client;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos, byte[] body)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(retryAfterNanos / 1e9));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        admissions.forEach((endpointClass, admission) -> {
+            String tag = endpointClass.tag();
+            FunctionCounter.builder("book.admission.rejected", admission.rateRejected, LongAdder::sum)
+                    .description("Requests rejected by admission control")
+                    .tags("class", tag, "reason", "rate")
+                    .register(registry);
+            if (admission.limit == null) {
+                return;
+            }
+            FunctionCounter.builder("book.admission.rejected", admission.concurrencyRejected, LongAdder::sum)
+                    .description("Requests rejected by admission control")
+                    .tags("class", tag, "reason", "concurrency")
+                    .register(registry);
+            Gauge.builder("book.admission.limit", admission.limit, AdaptiveConcurrencyLimit::limit)
+                    .description("Current concurrency limit of the endpoint class")
+                    .tag("class", tag)
+                    .register(registry);
+            Gauge.builder("book.admission.inflight", admission.limit, AdaptiveConcurrencyLimit::inflight)
+                    .description("Admitted requests of the endpoint class still in progress")
+                    .tag("class", tag)
+                    .register(registry);
+        });
+    }
+
+    private static class ClassAdmission {
+        private final double rate;
+        private final int burst;
+        private final Cache<String, TokenBucket> buckets;
+        private final AdaptiveConcurrencyLimit limit;
+        private final LongAdder rateRejected = new LongAdder();
+        private final LongAdder concurrencyRejected = new LongAdder();
+
+        private ClassAdmission(AdmissionProperties.Limits limits, AdmissionProperties properties) {
+            this.rate = limits.rate();
+            this.burst = limits.burst();
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(properties.maxClients())
+                    .expireAfterAccess(properties.clientIdle().toNanos(), TimeUnit.NANOSECONDS)
+                    .build();
+            this.limit = limits.maxConcurrency() > 0
+                    ? new AdaptiveConcurrencyLimit(limits.initialConcurrency(), limits.minConcurrency(),
+                    limits.maxConcurrency())
+                    : null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.Book.Store.Application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Admission control for {@code /api/book} behind {@code book.admission.*},
+ * off unless {@code enabled}. Endpoint classes without an entry in
+ * {@code classes} are not limited.
+ * <p>
+ * Rate limits are per client, and clients are told apart by remote address
+ * unless {@code clientHeader} is set. Behind a proxy or load balancer every
+ * request shares the proxy's address and so one bucket; set
+ * {@code clientHeader} to a header the proxy fills in, or size the rates for
+ * all traffic together.
+ *
+ * @param clientHeader request header naming the client; the remote address when empty or absent
+ * @param clientIdle   how long an idle client's token buckets are kept
+ * @param retryAfter   {@code Retry-After} sent with a 503 when a class is at its concurrency limit
+ */
+@ConfigurationProperties("book.admission")
+public record AdmissionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("") String clientHeader,
+        @DefaultValue("10m") Duration clientIdle,
+        @DefaultValue("100000") long maxClients,
+        @DefaultValue("1s") Duration retryAfter,
+        @DefaultValue Map<EndpointClass, Limits> classes
+) {
+    /**
+     * @param rate           requests per second per client
+     * @param burst          requests a client may send at once after being idle
+     * @param maxConcurrency 0 to leave the class without a concurrency limit
+     */
+    public record Limits(
+            @DefaultValue("100") double rate,
+            @DefaultValue("200") int burst,
+            @DefaultValue("16") int initialConcurrency,
+            @DefaultValue("1") int minConcurrency,
+            @DefaultValue("0") int maxConcurrency
+    ) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.Book.Store.Application.config;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free hand-off of {@link RequestLogRecord}s to a single background
+ * writer thread. Request threads never block on the log appender: when the queue
+ * is full the record is dropped and counted instead.
+ */
+public class AsyncRequestLogger {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final Queue<RequestLogRecord> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final int capacity;
+    private final Consumer<RequestLogRecord> sink;
+    private volatile boolean running;
+    private Thread writer;
+
+    public AsyncRequestLogger(int capacity, Consumer<RequestLogRecord> sink) {
+        this.capacity = capacity;
+        this.sink = sink;
+    }
+
+    public boolean offer(RequestLogRecord record) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            dropped.incrementAndGet();
+            return false;
+        }
+        queue.offer(record);
+        return true;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "request-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+    }
+
+    public int queueSize() {
+        return size.get();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private int drain() {
+        int drained = 0;
+        RequestLogRecord record;
+        while ((record = queue.poll()) != null) {
+            size.decrementAndGet();
+            drained++;
+            try {
+                sink.accept(record);
+            } catch (RuntimeException ignored) {
+                // a failing appender must not stop the writer thread
+            }
+        }
+        return drained;
+    }
+}
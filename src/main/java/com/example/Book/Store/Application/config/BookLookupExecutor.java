@@ -0,0 +1,53 @@
+package com.example.Book.Store.Application.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool for the parallel IN queries of a multi-get. When the pool and
+ * its queue are full the chunk runs on the calling thread instead. With
+ * {@code spring.threads.virtual.enabled} the workers are virtual threads; the
+ * pool size still bounds how many connections one multi-get can take. The
+ * request's {@link ServerTiming} and {@link ReplicaRouting} are carried over to
+ * the lookup threads.
+ */
+@Component
+public class BookLookupExecutor implements Executor, DisposableBean {
+    private final ThreadPoolExecutor executor;
+
+    public BookLookupExecutor(@Value("${book.multi-get.parallelism:4}") int parallelism,
+                              @Value("${book.multi-get.queue-capacity:64}") int queueCapacity,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("book-lookup-", 1).factory()
+                : Thread.ofPlatform().name("book-lookup-", 1).daemon(true).factory();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(ReplicaRouting.propagate(ServerTiming.propagate(supplier)), this);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
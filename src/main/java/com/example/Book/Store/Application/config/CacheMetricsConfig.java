@@ -0,0 +1,16 @@
+package com.example.Book.Store.Application.config;
+
+import com.example.Book.Store.Application.cache.BookCache;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheMetricsConfig {
+
+    @Bean
+    public MeterBinder bookCacheMetrics(BookCache bookCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, bookCache.nativeCache(), "book");
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.Book.Store.Application.config;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * Writes straight through to the wrapped response while keeping a copy of at
+ * most {@code maxBodyBytes} of the body. The copy is only taken when the
+ * request was sampled or the status is already an error when the body starts.
+ */
+public class CappedBodyResponseWrapper extends HttpServletResponseWrapper {
+    private final int maxBodyBytes;
+    private final boolean sampled;
+    private final long startNanos;
+    private byte[] captured;
+    private int capturedLength;
+    private long responseBytes;
+    private long firstByteNanos;
+    private Boolean capturing;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    public CappedBodyResponseWrapper(HttpServletResponse response, int maxBodyBytes, boolean sampled, long startNanos) {
+        super(response);
+        this.maxBodyBytes = maxBodyBytes;
+        this.sampled = sampled;
+        this.startNanos = startNanos;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CapturingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    public void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    public boolean shouldLogBody() {
+        return sampled || getStatus() >= 400;
+    }
+
+    public byte[] getCapturedBody() {
+        return captured == null ? new byte[0] : Arrays.copyOf(captured, capturedLength);
+    }
+
+    public boolean isBodyTruncated() {
+        return responseBytes > capturedLength;
+    }
+
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    public long getTimeToFirstByteNanos() {
+        return firstByteNanos == 0 ? 0 : firstByteNanos - startNanos;
+    }
+
+    private int beforeWrite(int length) {
+        if (firstByteNanos == 0) {
+            firstByteNanos = System.nanoTime();
+        }
+        responseBytes += length;
+        if (capturing == null) {
+            capturing = maxBodyBytes > 0 && shouldLogBody();
+        }
+        if (!capturing || capturedLength >= maxBodyBytes) {
+            return 0;
+        }
+        if (captured == null) {
+            captured = new byte[maxBodyBytes];
+        }
+        return Math.min(length, maxBodyBytes - capturedLength);
+    }
+
+    private class CapturingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+
+        private CapturingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            if (beforeWrite(1) > 0) {
+                captured[capturedLength++] = (byte) b;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            int copied = beforeWrite(len);
+            if (copied > 0) {
+                System.arraycopy(b, off, captured, capturedLength, copied);
+                capturedLength += copied;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.Book.Store.Application.config;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps delta watermarks behind writes that have not committed yet.
+ * {@code change_seq} values are handed out when a statement runs, not when
+ * its transaction commits, so a reader can see seq N + 1 committed while N
+ * is still open; moving a client past N + 1 would lose N for good.
+ * <p>
+ * Every read-write transaction is registered from begin to completion with a
+ * floor, the highest sequence value a reader had seen before it began, which
+ * is below any value it can take. {@link #cap} limits a reader to the lowest
+ * floor in flight. Spring Boot registers it with the JPA transaction manager;
+ * R2DBC writes run outside a transaction manager and use {@link #guard}. Only
+ * writes made by this process are covered.
+ */
+@Component
+public class ChangeSeqFence implements TransactionExecutionListener {
+    private final Map<Object, Long> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong highestSeen = new AtomicLong();
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && !transaction.isReadOnly()) {
+            enter(transaction);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        exit(transaction);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        exit(transaction);
+    }
+
+    /**
+     * Registers {@code write} from subscription until it completes, fails or is cancelled.
+     */
+    public <T> Mono<T> guard(Mono<T> write) {
+        return Mono.using(() -> enter(new Object()), token -> write, this::exit);
+    }
+
+    /**
+     * @param handedOut the highest {@code change_seq} handed out, read before calling
+     * @return the highest {@code change_seq} whose change is committed or rolled back
+     */
+    public long cap(long handedOut) {
+        highestSeen.accumulateAndGet(handedOut, Math::max);
+        long cap = handedOut;
+        for (long floor : inFlight.values()) {
+            cap = Math.min(cap, floor);
+        }
+        return cap;
+    }
+
+    private Object enter(Object token) {
+        inFlight.put(token, highestSeen.get());
+        return token;
+    }
+
+    private void exit(Object token) {
+        inFlight.remove(token);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.Book.Store.Application.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Cost class of a {@code /api/book} request, so an expensive class can be
+ * limited without starving cheap ones.
+ */
+public enum EndpointClass {
+    /** Single and multi-get by id, and search. */
+    LOOKUP,
+    /** Whole-catalogue, paged, filtered, delta and streamed reads. */
+    LIST,
+    /** Single-book create, update and delete. */
+    WRITE,
+    /** Bulk operations and imports. */
+    BULK,
+    /** Long-lived change feed connections. */
+    FEED;
+
+    static final String PREFIX = "/api/book";
+
+    private static final Set<String> LIST_PATHS =
+            Set.of("/all", "/page", "/by-author", "/by-year", "/by-title", "/delta", "/stream");
+
+    private final String tag = name().toLowerCase(Locale.ROOT);
+
+    public String tag() {
+        return tag;
+    }
+
+    static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        path = path.length() > PREFIX.length() ? path.substring(PREFIX.length()) : "";
+        if (path.startsWith("/bulk")) {
+            return BULK;
+        }
+        if (path.equals("/changes")) {
+            return FEED;
+        }
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return WRITE;
+        }
+        return LIST_PATHS.contains(path) ? LIST : LOOKUP;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.Book.Store.Application.config;
+
+import com.example.Book.Store.Application.event.BookChangedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for database replication when the replicas are local H2
+ * databases: migrates each replica at startup and, for every committed
+ * {@link BookChangedEvent}, copies the book's current row and tombstone from
+ * the primary after {@code book.datasource.local-replication.lag}, in commit
+ * order. Rows are copied as they are, change sequence included. Only changes
+ * that publish an event are replicated.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("book.datasource.local-replication.enabled")
+public class LocalReplication implements DisposableBean {
+    private final JdbcTemplate primary;
+    private final List<JdbcTemplate> replicas;
+    private final long lagMillis;
+    private final ScheduledExecutorService replicator = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("local-replication").daemon(true).factory());
+
+    public LocalReplication(HikariDataSource primaryDataSource,
+                            ReplicaPoolDataSource replicaPool,
+                            ReplicaProperties replicaProperties) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replicas = replicaPool.replicaDataSources().stream()
+                .map(JdbcTemplate::new)
+                .toList();
+        this.lagMillis = replicaProperties.localReplication().lag().toMillis();
+        replicaPool.replicaDataSources().forEach(dataSource -> Flyway.configure()
+                .dataSource(dataSource)
+                .load()
+                .migrate());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        replicator.schedule(() -> replicate(event.id()), lagMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void replicate(Integer id) {
+        try {
+            List<Map<String, Object>> book = primary.queryForList("SELECT id, book_title, book_author, book_year,"
+                    + " version, change_seq FROM Book WHERE id = ?", id);
+            List<Map<String, Object>> tombstone = primary.queryForList(
+                    "SELECT id, change_seq FROM book_tombstone WHERE id = ?", id);
+            for (JdbcTemplate replica : replicas) {
+                if (book.isEmpty()) {
+                    replica.update("DELETE FROM Book WHERE id = ?", id);
+                } else {
+                    Map<String, Object> row = book.get(0);
+                    replica.update("MERGE INTO Book(id, book_title, book_author, book_year, version, change_seq)"
+                                    + " KEY(id) VALUES (?, ?, ?, ?, ?, ?)",
+                            row.get("ID"), row.get("BOOK_TITLE"), row.get("BOOK_AUTHOR"), row.get("BOOK_YEAR"),
+                            row.get("VERSION"), row.get("CHANGE_SEQ"));
+                }
+                if (!tombstone.isEmpty()) {
+                    replica.update("MERGE INTO book_tombstone(id, change_seq) KEY(id) VALUES (?, ?)",
+                            id, tombstone.get(0).get("CHANGE_SEQ"));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not replicate book {}: {}", id, e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicator.shutdownNow();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.Book.Store.Application.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Read-your-writes across requests: a request that commits a write gets a
+ * cookie holding the end of the read-your-writes window, and requests that
+ * carry an unexpired one read from the primary. Does nothing without replicas.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    static final String COOKIE = "BOOK_PRIMARY_UNTIL";
+
+    private final long windowMillis;
+
+    private final boolean enabled;
+
+    public ReadYourWritesFilter(@Value("${book.datasource.read-your-writes-window:2s}") Duration window,
+                                @Value("${book.datasource.replicas[0].url:}") String firstReplicaUrl) {
+        this.windowMillis = window.toMillis();
+        this.enabled = windowMillis > 0 && !firstReplicaUrl.isEmpty();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ReplicaRouting.bind(primaryUntil(request) > System.currentTimeMillis(), () -> {
+            if (!response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE, String.valueOf(System.currentTimeMillis() + windowMillis));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.ceil(windowMillis / 1000.0));
+                response.addCookie(cookie);
+            }
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRouting.unbind();
+        }
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.Book.Store.Application.config;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Pins the request to the primary once a read-write transaction commits.
+ * Spring Boot registers it with the JPA transaction manager.
+ */
+@Component
+public class ReadYourWritesListener implements TransactionExecutionListener {
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            ReplicaRouting.writeCommitted();
+        }
+    }
+}
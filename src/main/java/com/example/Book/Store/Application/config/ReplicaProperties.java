@@ -0,0 +1,27 @@
+package com.example.Book.Store.Application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas behind {@code book.datasource.*}. With no replicas every
+ * transaction uses the primary.
+ *
+ * @param localReplication copies committed changes to the replicas, for H2 stand-ins only
+ */
+@ConfigurationProperties("book.datasource")
+public record ReplicaProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("8") int replicaPoolSize,
+        @DefaultValue("5s") Duration healthCheckInterval,
+        @DefaultValue LocalReplication localReplication
+) {
+    public record Replica(String url, String username, String password) {
+    }
+
+    public record LocalReplication(boolean enabled, @DefaultValue("200ms") Duration lag) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.Book.Store.Application.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-request state that decides whether read-only transactions may use a
+ * replica. {@link ReadYourWritesFilter} binds it, pinned to the primary when
+ * the client wrote within the read-your-writes window; a committed write
+ * pins it for the rest of the request and notifies the filter once.
+ * {@link #onPrimary(Supplier)} pins a block of work regardless of the request.
+ */
+public final class ReplicaRouting {
+    private static final ThreadLocal<ReplicaRouting> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> FORCED_PRIMARY = new ThreadLocal<>();
+
+    private final Runnable onFirstWrite;
+    private volatile boolean pinned;
+    private volatile boolean written;
+
+    private ReplicaRouting(boolean pinned, Runnable onFirstWrite) {
+        this.pinned = pinned;
+        this.onFirstWrite = onFirstWrite;
+    }
+
+    static ReplicaRouting bind(boolean pinned, Runnable onFirstWrite) {
+        ReplicaRouting routing = new ReplicaRouting(pinned, onFirstWrite);
+        CURRENT.set(routing);
+        return routing;
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        ReplicaRouting routing = CURRENT.get();
+        return FORCED_PRIMARY.get() != null || routing != null && routing.pinned;
+    }
+
+    public static <T> T onPrimary(Supplier<T> supplier) {
+        if (FORCED_PRIMARY.get() != null) {
+            return supplier.get();
+        }
+        FORCED_PRIMARY.set(Boolean.TRUE);
+        try {
+            return supplier.get();
+        } finally {
+            FORCED_PRIMARY.remove();
+        }
+    }
+
+    public static <T> Supplier<T> propagate(Supplier<T> supplier) {
+        ReplicaRouting routing = CURRENT.get();
+        boolean forced = FORCED_PRIMARY.get() != null;
+        if (routing == null && !forced) {
+            return supplier;
+        }
+        return () -> {
+            ReplicaRouting previous = CURRENT.get();
+            CURRENT.set(routing);
+            try {
+                return forced ? onPrimary(supplier) : supplier.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Pins the request to the primary and, on the first call, lets the filter
+     * extend the read-your-writes window. Called after commit, so writes
+     * committed on another thread for this request call it themselves.
+     */
+    public static void writeCommitted() {
+        ReplicaRouting routing = CURRENT.get();
+        if (routing == null) {
+            return;
+        }
+        routing.pinned = true;
+        if (!routing.written) {
+            routing.written = true;
+            routing.onFirstWrite.run();
+        }
+    }
+}
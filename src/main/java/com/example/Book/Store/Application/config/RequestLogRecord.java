@@ -0,0 +1,18 @@
+package com.example.Book.Store.Application.config;
+
+import lombok.Builder;
+
+@Builder
+public record RequestLogRecord(
+        String method,
+        String requestUri,
+        int status,
+        long startEpochMillis,
+        long durationMicros,
+        long timeToFirstByteMicros,
+        long responseBytes,
+        byte[] body,
+        boolean bodyTruncated,
+        String characterEncoding
+) {
+}
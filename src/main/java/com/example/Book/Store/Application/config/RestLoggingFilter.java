@@ -1,42 +1,135 @@
 package com.example.Book.Store.Application.config;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 @Component
-public class RestLoggingFilter extends OncePerRequestFilter {
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RestLoggingFilter extends OncePerRequestFilter implements MeterBinder, DisposableBean {
 
     private static final Logger logger = LoggerFactory.getLogger(RestLoggingFilter.class);
 
+    private final double sampleRate;
+    private final int bodyMaxBytes;
+    private final AsyncRequestLogger requestLogger;
+
+    public RestLoggingFilter(@Value("${book.logging.sample-rate:0.01}") double sampleRate,
+                             @Value("${book.logging.body-max-bytes:2048}") int bodyMaxBytes,
+                             @Value("${book.logging.queue-capacity:10000}") int queueCapacity) {
+        this.sampleRate = sampleRate;
+        this.bodyMaxBytes = bodyMaxBytes;
+        this.requestLogger = new AsyncRequestLogger(queueCapacity, RestLoggingFilter::write);
+        this.requestLogger.start();
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        long startEpochMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        CappedBodyResponseWrapper responseWrapper =
+                new CappedBodyResponseWrapper(response, bodyMaxBytes, sampled, startNanos);
 
-        filterChain.doFilter(request, responseWrapper);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } finally {
+            responseWrapper.flushWriter();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        submit(request, responseWrapper, startEpochMillis, startNanos);
+                    }
 
-        byte[] content = responseWrapper.getContentAsByteArray();
-        String responseBody = getStringValue(content, response.getCharacterEncoding());
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
 
-        logger.info("METHOD = {}; REQUESTURI = {}", request.getMethod(), request.getRequestURI());
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
 
-        logger.info("RESPONSE = {}", responseBody);
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                submit(request, responseWrapper, startEpochMillis, startNanos);
+            }
+        }
+    }
+
+    private void submit(HttpServletRequest request, CappedBodyResponseWrapper responseWrapper,
+                        long startEpochMillis, long startNanos) {
+        // Bodies the application encoded itself, like the pre-gzipped catalogue, are not readable text
+        boolean logBody = responseWrapper.shouldLogBody() && responseWrapper.getHeader(HttpHeaders.CONTENT_ENCODING) == null;
+        requestLogger.offer(RequestLogRecord.builder()
+                .method(request.getMethod())
+                .requestUri(request.getRequestURI())
+                .status(responseWrapper.getStatus())
+                .startEpochMillis(startEpochMillis)
+                .durationMicros(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos))
+                .timeToFirstByteMicros(TimeUnit.NANOSECONDS.toMicros(responseWrapper.getTimeToFirstByteNanos()))
+                .responseBytes(responseWrapper.getResponseBytes())
+                .body(logBody ? responseWrapper.getCapturedBody() : null)
+                .bodyTruncated(logBody && responseWrapper.isBodyTruncated())
+                .characterEncoding(responseWrapper.getCharacterEncoding())
+                .build());
+    }
 
-        responseWrapper.copyBodyToResponse();
+    private static void write(RequestLogRecord record) {
+        logger.info("METHOD = {}; REQUESTURI = {}; STATUS = {}; DURATION_US = {}; TTFB_US = {}; RESPONSE_BYTES = {}",
+                record.method(), record.requestUri(), record.status(),
+                record.durationMicros(), record.timeToFirstByteMicros(), record.responseBytes());
+        if (record.body() != null) {
+            logger.info("RESPONSE{} = {}", record.bodyTruncated() ? " (truncated)" : "",
+                    new String(record.body(), getCharset(record.characterEncoding())));
+        }
     }
 
-    private String getStringValue(byte[] contentAsByteArray, String characterEncoding) throws UnsupportedEncodingException {
-        return new String(contentAsByteArray, characterEncoding);
+    private static Charset getCharset(String characterEncoding) {
+        try {
+            return characterEncoding == null ? StandardCharsets.UTF_8 : Charset.forName(characterEncoding);
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
     }
 
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("book.request.log.queue.size", requestLogger, AsyncRequestLogger::queueSize)
+                .description("Request log records waiting for the background writer")
+                .register(registry);
+        FunctionCounter.builder("book.request.log.dropped", requestLogger, AsyncRequestLogger::droppedCount)
+                .description("Request log records dropped because the queue was full")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        requestLogger.stop();
+    }
 }
@@ -0,0 +1,105 @@
+package com.example.Book.Store.Application.config;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Time one request spends in the database, in entity/DTO mapping and in JSON
+ * serialization, reported by {@link ServerTimingFilter} as a
+ * {@code Server-Timing} header. The instance is bound to the request thread;
+ * {@link #propagate(Supplier)} carries it to multi-get lookup threads, whose
+ * time is summed, so a phase can exceed the wall-clock total.
+ */
+public final class ServerTiming {
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    public enum Phase {
+        DB("db"),
+        MAPPING("mapping"),
+        SERIALIZATION("serialization");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private final long startNanos;
+    private final LongAdder[] phaseNanos = new LongAdder[Phase.values().length];
+
+    ServerTiming(long startNanos) {
+        this.startNanos = startNanos;
+        for (int i = 0; i < phaseNanos.length; i++) {
+            phaseNanos[i] = new LongAdder();
+        }
+    }
+
+    static ServerTiming bind(long startNanos) {
+        ServerTiming timing = new ServerTiming(startNanos);
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return the timing of the request served by this thread, or {@code null}
+     */
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    public static <T> Supplier<T> propagate(Supplier<T> supplier) {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) {
+            return supplier;
+        }
+        return () -> {
+            ServerTiming previous = CURRENT.get();
+            CURRENT.set(timing);
+            try {
+                return supplier.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    public void add(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()].add(nanos);
+    }
+
+    public long nanos(Phase phase) {
+        return phaseNanos[phase.ordinal()].sum();
+    }
+
+    /**
+     * @return e.g. {@code db;dur=1.204, mapping;dur=0.031, serialization;dur=0.250, total;dur=2.010},
+     * durations in milliseconds up to now
+     */
+    public String headerValue() {
+        StringBuilder value = new StringBuilder(96);
+        for (Phase phase : Phase.values()) {
+            appendMetric(value, phase.metricName, nanos(phase));
+        }
+        appendMetric(value, "total", System.nanoTime() - startNanos);
+        return value.toString();
+    }
+
+    private static void appendMetric(StringBuilder value, String name, long nanos) {
+        if (!value.isEmpty()) {
+            value.append(", ");
+        }
+        value.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+}
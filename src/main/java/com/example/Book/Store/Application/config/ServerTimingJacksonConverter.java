@@ -0,0 +1,95 @@
+package com.example.Book.Store.Application.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * JSON converter that times serialization for {@link ServerTiming}. Bodies
+ * are serialized into a buffer first, so the time is known before the header
+ * is written; a body that outgrows {@code maxBufferBytes} is streamed on from
+ * that point and reports no serialization time.
+ */
+public class ServerTimingJacksonConverter extends MappingJackson2HttpMessageConverter {
+    private final int maxBufferBytes;
+
+    public ServerTimingJacksonConverter(ObjectMapper objectMapper, int maxBufferBytes) {
+        super(objectMapper);
+        this.maxBufferBytes = maxBufferBytes;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ServerTiming timing = ServerTiming.current();
+        if (timing == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        long start = System.nanoTime();
+        SpillingOutputStream body = new SpillingOutputStream(outputMessage);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        if (!body.spilled()) {
+            timing.add(ServerTiming.Phase.SERIALIZATION, System.nanoTime() - start);
+            outputMessage.getHeaders().setContentLength(body.buffer.size());
+            body.buffer.writeTo(outputMessage.getBody());
+        }
+    }
+
+    private class SpillingOutputStream extends OutputStream {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+        private final HttpOutputMessage outputMessage;
+        private OutputStream target;
+
+        private SpillingOutputStream(HttpOutputMessage outputMessage) {
+            this.outputMessage = outputMessage;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (target == null && buffer.size() + len > maxBufferBytes) {
+                target = outputMessage.getBody();
+                buffer.writeTo(target);
+            }
+            if (target != null) {
+                target.write(b, off, len);
+            } else {
+                buffer.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        private boolean spilled() {
+            return target != null;
+        }
+    }
+}
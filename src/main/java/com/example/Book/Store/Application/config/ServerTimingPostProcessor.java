@@ -0,0 +1,49 @@
+package com.example.Book.Store.Application.config;
+
+import com.example.Book.Store.Application.mapper.Mapper;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds {@link ServerTiming} phases around Spring Data repositories
+ * ({@link ServerTiming.Phase#DB}, including the transaction commit) and
+ * {@link Mapper}s ({@link ServerTiming.Phase#MAPPING}). Outside a request the
+ * interceptors only check for a bound timing.
+ */
+@Component
+public class ServerTimingPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof Repository<?, ?> && bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, timed(ServerTiming.Phase.DB));
+            return bean;
+        }
+        if (bean instanceof Mapper<?, ?>) {
+            ProxyFactory proxyFactory = new ProxyFactory(bean);
+            proxyFactory.setProxyTargetClass(true);
+            proxyFactory.addAdvice(timed(ServerTiming.Phase.MAPPING));
+            return proxyFactory.getProxy();
+        }
+        return bean;
+    }
+
+    private static MethodInterceptor timed(ServerTiming.Phase phase) {
+        return invocation -> {
+            ServerTiming timing = ServerTiming.current();
+            if (timing == null) {
+                return invocation.proceed();
+            }
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                timing.add(phase, System.nanoTime() - start);
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.Book.Store.Application.config;
+
+/**
+ * Token bucket refilled at {@code rate} tokens per second up to {@code burst}.
+ */
+class TokenBucket {
+    private final double tokensPerNano;
+    private final double burst;
+    private double tokens;
+    private long refilledAtNanos;
+
+    TokenBucket(double rate, int burst, long nowNanos) {
+        this.tokensPerNano = rate / 1e9;
+        this.burst = burst;
+        this.tokens = burst;
+        this.refilledAtNanos = nowNanos;
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return 0 when a token was taken, otherwise the nanos until the next one
+     */
+    synchronized long tryAcquire(long nowNanos) {
+        tokens = Math.min(burst, tokens + (nowNanos - refilledAtNanos) * tokensPerNano);
+        refilledAtNanos = nowNanos;
+        if (tokens >= 1) {
+            tokens--;
+            return 0;
+        }
+        return tokensPerNano > 0 ? (long) Math.ceil((1 - tokens) / tokensPerNano) : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.Book.Store.Application.controller;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.BulkResult;
+import com.example.Book.Store.Application.dto.ImportReport;
+import com.example.Book.Store.Application.importer.ImportFormat;
+import com.example.Book.Store.Application.service.BookBulkService;
+import com.example.Book.Store.Application.service.BookImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@Log4j2
+@RestController
+@RequestMapping(value = "/api/book/bulk")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BookBulkController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final BookBulkService bookBulkService;
+    private final BookImportService bookImportService;
+
+    @PostMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResult> createBooks(@RequestBody List<BookDTO> bookDTOs) {
+        BulkResult bulkResult = bookBulkService.createBooks(bookDTOs);
+        log.info("Bulk create: {} created, {} rejected", bulkResult.succeeded(), bulkResult.rejected());
+        return ResponseEntity.ok(bulkResult);
+    }
+
+    @PutMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResult> updateBooks(@RequestBody List<BookDTO> bookDTOs) {
+        BulkResult bulkResult = bookBulkService.updateBooks(bookDTOs);
+        log.info("Bulk update: {} updated, {} rejected", bulkResult.succeeded(), bulkResult.rejected());
+        return ResponseEntity.ok(bulkResult);
+    }
+
+    @DeleteMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResult> deleteBooks(@RequestParam(value = "id") List<Integer> ids) {
+        BulkResult bulkResult = bookBulkService.deleteBooks(ids);
+        log.info("Bulk delete: {} deleted, {} rejected", bulkResult.succeeded(), bulkResult.rejected());
+        return ResponseEntity.ok(bulkResult);
+    }
+
+    @PostMapping(value = "/import", consumes = {TEXT_CSV_VALUE, APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportReport> importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream inputStream) throws IOException {
+        ImportFormat format = contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                ? ImportFormat.CSV
+                : ImportFormat.NDJSON;
+        return ResponseEntity.ok(bookImportService.importBooks(inputStream, format));
+    }
+}
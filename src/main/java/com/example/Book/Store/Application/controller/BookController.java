@@ -1,82 +1,281 @@
 package com.example.Book.Store.Application.controller;
 
+import com.example.Book.Store.Application.dto.BookCreation;
 import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.BookDelta;
+import com.example.Book.Store.Application.dto.BookPage;
+import com.example.Book.Store.Application.dto.BookSlice;
 import com.example.Book.Store.Application.exception.BookNotFoundException;
+import com.example.Book.Store.Application.service.BookCreateQueue;
 import com.example.Book.Store.Application.service.BookService;
+import com.example.Book.Store.Application.service.CatalogueResponseCache;
+import com.example.Book.Store.Application.util.BookETags;
+import com.example.Book.Store.Application.util.BookIds;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Log4j2
 @RestController
 @RequestMapping(value = "/api/book")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookController {
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final String GZIP = "gzip";
+    private static final Pattern ZERO_QUALITY = Pattern.compile("^q=0(\\.0{0,3})?$");
+
     private final BookService bookService;
+    private final BookCreateQueue bookCreateQueue;
+    private final CatalogueResponseCache catalogueResponseCache;
+    private final ObjectMapper objectMapper;
 
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<BookDTO> getBookById(@PathVariable("id") Integer id) {
         BookDTO bookDTO = bookService.getBookById(id)
                 .orElseThrow(() -> new BookNotFoundException("Book with ID " + id + " not found"));
-        return ResponseEntity.ok(bookDTO);
+        return ResponseEntity.ok().eTag(BookETags.of(bookDTO)).body(bookDTO);
     }
 
-    @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(value = "", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<List<BookDTO>> getBookByIds(
             @RequestParam(value = "id", required = false) List<Integer> ids) {
-        List<BookDTO> bookDTOList = bookService.getBookByIds(ids);
-        List<Integer> returnedIds = bookDTOList
-                .stream()
-                .map(BookDTO::id)
-                .toList();
-
-        List<Integer> missingIds = ids.stream()
-                .filter(id -> !returnedIds.contains(id))
-                .toList();
+        List<Integer> requestedIds = ids == null ? List.of() : ids;
+        List<BookDTO> bookDTOList = bookService.getBookByIds(requestedIds);
+        List<Integer> missingIds = BookIds.missing(requestedIds, bookDTOList);
 
         HttpHeaders headers = new HttpHeaders();
         if (!missingIds.isEmpty()) {
             headers.add("X-MISSING-SET", missingIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
         }
         log.info("X-MISSING-SET {}", missingIds);
-        return ResponseEntity.ok().headers(headers).body(bookDTOList);
+        return ResponseEntity.ok().headers(headers).varyBy(HttpHeaders.ACCEPT)
+                .eTag(BookETags.ofList(bookDTOList)).body(bookDTOList);
     }
 
-    @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<BookDTO>> getAllBooks() {
+    /**
+     * JSON responses are written from {@link CatalogueResponseCache} when it
+     * holds the current version, gzipped as stored when the client accepts it
+     * and then tagged with {@link BookETags#ofCatalogueGzip}.
+     */
+    @GetMapping(value = "/all", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<?> getAllBooks(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        String version = bookService.getListingVersion();
+        String eTag = BookETags.ofCatalogue(version);
+        Optional<CatalogueResponseCache.Entry> cached = catalogueResponseCache.isEnabled() && prefersJson(accept)
+                ? catalogueResponseCache.get(version)
+                : Optional.empty();
+        if (cached.isPresent()) {
+            boolean gzip = acceptsGzip(acceptEncoding);
+            String cachedETag = gzip ? BookETags.ofCatalogueGzip(version) : eTag;
+            if (webRequest.checkNotModified(cachedETag)) {
+                return null;
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .eTag(cachedETag)
+                    .contentType(MediaType.APPLICATION_JSON);
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+            }
+            return response.body(gzip ? cached.get().gzip() : cached.get().json());
+        }
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         List<BookDTO> bookDTOList = bookService.getAllBooks();
-        return ResponseEntity.ok().body(bookDTOList);
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).eTag(eTag).body(bookDTOList);
+    }
+
+    @GetMapping(value = "/page", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<BookPage> getBookPage(
+            @RequestParam(value = "after", defaultValue = "0") Integer after,
+            @RequestParam(value = "size", defaultValue = "100") Integer size,
+            WebRequest webRequest) {
+        String eTag = BookETags.ofCatalogue(bookService.getCatalogueVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).eTag(eTag).body(bookService.getBookPage(after, size));
+    }
+
+    @GetMapping(value = "/by-author", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<BookSlice> getBooksByAuthor(
+            @RequestParam("author") String author,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "100") Integer size,
+            WebRequest webRequest) {
+        String eTag = BookETags.ofCatalogue(bookService.getListingVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).eTag(eTag)
+                .body(bookService.getBooksByAuthor(author, cursor, size));
+    }
+
+    @GetMapping(value = "/by-year", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<BookSlice> getBooksByYearRange(
+            @RequestParam(value = "from", defaultValue = "" + Integer.MIN_VALUE) Integer fromYear,
+            @RequestParam(value = "to", defaultValue = "" + Integer.MAX_VALUE) Integer toYear,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "100") Integer size,
+            WebRequest webRequest) {
+        String eTag = BookETags.ofCatalogue(bookService.getListingVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).eTag(eTag)
+                .body(bookService.getBooksByYearRange(fromYear, toYear, cursor, size));
+    }
+
+    @GetMapping(value = "/by-title", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<BookSlice> getBooksByTitlePrefix(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "100") Integer size,
+            WebRequest webRequest) {
+        String eTag = BookETags.ofCatalogue(bookService.getCatalogueVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).eTag(eTag)
+                .body(bookService.getBooksByTitlePrefix(prefix, cursor, size));
+    }
+
+    @GetMapping(value = "/delta", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<BookDelta> getChangesSince(
+            @RequestParam(value = "since", defaultValue = "0") Long since,
+            @RequestParam(value = "limit", defaultValue = "1000") Integer limit) {
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(bookService.getChangesSince(since, limit));
     }
 
+    @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBooks() {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                bookService.streamAllBooks(bookDTO -> {
+                    try {
+                        writer.writeValue(generator, bookDTO);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    /**
+     * With group commit enabled, {@code Prefer: respond-async} answers 202
+     * with a handle to poll instead of waiting for the create's group to commit.
+     */
     @PostMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<BookDTO> createBook(@Valid @RequestBody BookDTO bookDTO) {
+    public ResponseEntity<?> createBook(
+            @RequestHeader(value = "Prefer", required = false) String prefer,
+            @Valid @RequestBody BookDTO bookDTO) {
+        if (bookCreateQueue.isEnabled()) {
+            if (prefer != null && prefer.contains(RESPOND_ASYNC)) {
+                BookCreation creation = bookCreateQueue.submit(bookDTO);
+                return ResponseEntity.accepted()
+                        .header("Preference-Applied", RESPOND_ASYNC)
+                        .location(URI.create("/api/book/creations/" + creation.handle()))
+                        .body(creation);
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(bookCreateQueue.createAndWait(bookDTO));
+        }
         return bookService.createBook(bookDTO)
                 .map(passenger -> ResponseEntity.status(HttpStatus.CREATED).body(passenger))
                 .orElse(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
     }
 
+    @GetMapping(value = "/creations/{handle}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BookCreation> getBookCreation(@PathVariable("handle") String handle) {
+        return bookCreateQueue.getCreation(handle)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new BookNotFoundException("Book creation " + handle + " not found"));
+    }
+
     @PutMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<BookDTO> updateBook(
             @PathVariable("id") Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody BookDTO bookDTO) {
-        return bookService.updateBook(id, bookDTO)
-                .map(book -> ResponseEntity.status(HttpStatus.OK).body(book))
+        return bookService.updateBook(id, bookDTO, BookETags.expectedVersion(ifMatch, id))
+                .map(book -> ResponseEntity.status(HttpStatus.OK)
+                        .eTag(book.version() == null ? null : BookETags.of(book))
+                        .body(book))
                 .orElseThrow(() -> new BookNotFoundException("Book Id With " + id + " not found"));
     }
 
     @DeleteMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<String> deleteBook(@PathVariable("id") Integer id) {
-        BookDTO bookDTO = bookService.getBookById(id)
-                .orElseThrow(() -> new BookNotFoundException("Book Id With " + id + " not found"));
-        bookService.deleteBook(id);
+    public ResponseEntity<String> deleteBook(
+            @PathVariable("id") Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (!bookService.deleteBook(id, BookETags.expectedVersion(ifMatch, id))) {
+            throw new BookNotFoundException("Book Id With " + id + " not found");
+        }
         return ResponseEntity.status(HttpStatus.OK).body("Book with ID " + id + " successfully deleted.");
     }
+
+    /**
+     * Whether the negotiated type would be JSON. Clients naming CBOR at all
+     * take the normal path, which weighs the two.
+     */
+    private static boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            return mediaTypes.stream().noneMatch(type -> type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR))
+                    && mediaTypes.stream().anyMatch(type -> type.includes(MediaType.APPLICATION_JSON)
+                    && type.getQualityValue() > 0);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase(GZIP)) {
+                return Arrays.stream(parts).skip(1).map(String::trim).noneMatch(ZERO_QUALITY.asPredicate());
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,65 @@
+package com.example.Book.Store.Application.controller;
+
+import com.example.Book.Store.Application.event.BookChangeFeed;
+import com.example.Book.Store.Application.event.BookFeedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Server-Sent Events feed of committed book changes. Events are named
+ * {@code change} with a {@link BookFeedEvent} as data, or {@code resync} when
+ * the client has to reload the catalogue because changes were dropped or
+ * cannot be resumed. Reconnecting clients send {@code Last-Event-ID}.
+ */
+@RestController
+@RequestMapping(value = "/api/book")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BookFeedController {
+    private final BookChangeFeed bookChangeFeed;
+    private final ObjectMapper objectMapper;
+
+    @Value("${book.feed.timeout:30m}")
+    private Duration timeout;
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        BookChangeFeed.Subscription subscription = bookChangeFeed.subscribe(lastEventId, new BookChangeFeed.Subscriber() {
+            @Override
+            public void onEvent(String eventId, BookFeedEvent event) throws Exception {
+                emitter.send(SseEmitter.event()
+                        .id(eventId)
+                        .name("change")
+                        .data(objectMapper.writeValueAsString(event)));
+            }
+
+            @Override
+            public void onResync(String eventId) throws Exception {
+                emitter.send(SseEmitter.event()
+                        .id(eventId)
+                        .name("resync")
+                        .data(objectMapper.writeValueAsString(Map.of("reload", "/api/book/all"))));
+            }
+
+            @Override
+            public void onHeartbeat() throws Exception {
+                emitter.send(SseEmitter.event().comment(""));
+            }
+        });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return emitter;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.Book.Store.Application.controller;
+
+import com.example.Book.Store.Application.dto.SearchResult;
+import com.example.Book.Store.Application.service.BookSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(value = "/api/book/search")
+@RequiredArgsConstructor
+public class BookSearchController {
+    private final BookSearchService bookSearchService;
+
+    @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SearchResult> search(
+            @RequestParam(value = "q") String query,
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(bookSearchService.search(query, page, size));
+    }
+}
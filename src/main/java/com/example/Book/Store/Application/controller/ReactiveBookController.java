@@ -0,0 +1,112 @@
+package com.example.Book.Store.Application.controller;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.BookPage;
+import com.example.Book.Store.Application.exception.BookNotFoundException;
+import com.example.Book.Store.Application.service.ReactiveBookService;
+import com.example.Book.Store.Application.util.BookETags;
+import com.example.Book.Store.Application.util.BookIds;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link BookController} contract on WebFlux, active when the application
+ * runs as a reactive web application (the {@code reactive} profile).
+ */
+@Log4j2
+@RestController
+@RequestMapping(value = "/api/book")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookController {
+    private final ReactiveBookService bookService;
+
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BookDTO>> getBookById(@PathVariable("id") Integer id) {
+        return bookService.getBookById(id)
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException("Book with ID " + id + " not found")))
+                .map(bookDTO -> ResponseEntity.ok().eTag(BookETags.of(bookDTO)).body(bookDTO));
+    }
+
+    @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<BookDTO>>> getBookByIds(
+            @RequestParam(value = "id", required = false) List<Integer> ids) {
+        List<Integer> requestedIds = ids == null ? List.of() : ids;
+        return bookService.getBookByIds(requestedIds).map(bookDTOList -> {
+            List<Integer> missingIds = BookIds.missing(requestedIds, bookDTOList);
+
+            HttpHeaders headers = new HttpHeaders();
+            if (!missingIds.isEmpty()) {
+                headers.add("X-MISSING-SET", missingIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+            }
+            log.info("X-MISSING-SET {}", missingIds);
+            return ResponseEntity.ok().headers(headers).eTag(BookETags.ofList(bookDTOList)).body(bookDTOList);
+        });
+    }
+
+    /**
+     * Streams the JSON array as rows arrive. A matching {@code If-None-Match}
+     * is answered with 304 before the body is subscribed, so no query runs.
+     */
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Flux<BookDTO>> getAllBooks() {
+        return ResponseEntity.ok()
+                .eTag(BookETags.ofCatalogue(bookService.getCatalogueVersion()))
+                .body(bookService.getAllBooks());
+    }
+
+    @GetMapping(value = "/page", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Mono<BookPage>> getBookPage(
+            @RequestParam(value = "after", defaultValue = "0") Integer after,
+            @RequestParam(value = "size", defaultValue = "100") Integer size) {
+        return ResponseEntity.ok()
+                .eTag(BookETags.ofCatalogue(bookService.getCatalogueVersion()))
+                .body(bookService.getBookPage(after, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookDTO> streamAllBooks() {
+        return bookService.getAllBooks();
+    }
+
+    @PostMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BookDTO>> createBook(@Valid @RequestBody BookDTO bookDTO) {
+        return bookService.createBook(bookDTO)
+                .map(book -> ResponseEntity.status(HttpStatus.CREATED).body(book))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+    }
+
+    @PutMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BookDTO>> updateBook(
+            @PathVariable("id") Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody BookDTO bookDTO) {
+        return bookService.updateBook(id, bookDTO, BookETags.expectedVersion(ifMatch, id))
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException("Book Id With " + id + " not found")))
+                .map(book -> ResponseEntity.status(HttpStatus.OK)
+                        .eTag(book.version() == null ? null : BookETags.of(book))
+                        .body(book));
+    }
+
+    @DeleteMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<String>> deleteBook(
+            @PathVariable("id") Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return bookService.deleteBook(id, BookETags.expectedVersion(ifMatch, id))
+                .flatMap(deleted -> deleted
+                        ? Mono.just(ResponseEntity.status(HttpStatus.OK).body("Book with ID " + id + " successfully deleted."))
+                        : Mono.error(new BookNotFoundException("Book Id With " + id + " not found")));
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.Book.Store.Application.dto;
+
+import lombok.Builder;
+
+/**
+ * State of a book creation accepted by the group-commit queue.
+ *
+ * @param book  the created book, once {@code CREATED}
+ * @param error why the creation was not committed, once {@code FAILED}
+ */
+@Builder
+public record BookCreation(
+        String handle,
+        BookCreationStatus status,
+        BookDTO book,
+        String error
+) {
+}
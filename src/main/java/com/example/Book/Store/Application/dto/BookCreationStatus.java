@@ -0,0 +1,7 @@
+package com.example.Book.Store.Application.dto;
+
+public enum BookCreationStatus {
+    PENDING,
+    CREATED,
+    FAILED
+}
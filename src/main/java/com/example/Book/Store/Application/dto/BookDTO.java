@@ -1,5 +1,6 @@
 package com.example.Book.Store.Application.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
@@ -9,6 +10,7 @@ public record BookDTO(
         Integer id,
         @NotBlank(message = "BookTitle is required") String bookTitle,
         @NotBlank(message = "Book Author is required") String bookAuthor,
-        @NotNull(message = "Book Year is required") Integer bookYear
+        @NotNull(message = "Book Year is required") Integer bookYear,
+        @JsonIgnore Long version
 ) {
 }
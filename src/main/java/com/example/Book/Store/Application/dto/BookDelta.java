@@ -0,0 +1,22 @@
+package com.example.Book.Store.Application.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Books created or updated and ids deleted after a watermark, in change order.
+ * An id can be in both lists when it was changed and then deleted; the
+ * deletion wins.
+ *
+ * @param watermark pass as {@code since} to get the changes after these
+ * @param hasMore   more changes follow the watermark
+ */
+@Builder
+public record BookDelta(
+        List<BookDTO> books,
+        List<Integer> deletedIds,
+        long watermark,
+        boolean hasMore
+) {
+}
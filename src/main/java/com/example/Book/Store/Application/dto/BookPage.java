@@ -0,0 +1,12 @@
+package com.example.Book.Store.Application.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record BookPage(
+        List<BookDTO> books,
+        Integer nextCursor
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.Book.Store.Application.dto;
+
+import lombok.Builder;
+
+@Builder
+public record BulkItemResult(
+        int index,
+        Integer id,
+        BulkItemStatus status,
+        String error
+) {
+}
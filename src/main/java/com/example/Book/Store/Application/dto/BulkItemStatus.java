@@ -0,0 +1,8 @@
+package com.example.Book.Store.Application.dto;
+
+public enum BulkItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    REJECTED
+}
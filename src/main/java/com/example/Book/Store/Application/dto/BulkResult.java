@@ -0,0 +1,13 @@
+package com.example.Book.Store.Application.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record BulkResult(
+        int succeeded,
+        int rejected,
+        List<BulkItemResult> items
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.Book.Store.Application.dto;
+
+import lombok.Builder;
+
+@Builder
+public record ImportRejection(
+        long line,
+        String error
+) {
+}
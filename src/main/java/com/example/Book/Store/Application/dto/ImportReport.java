@@ -0,0 +1,17 @@
+package com.example.Book.Store.Application.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record ImportReport(
+        long rowsRead,
+        long imported,
+        long rejected,
+        List<ImportRejection> rejections,
+        boolean rejectionsTruncated,
+        long durationMillis,
+        long rowsPerSecond
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.Book.Store.Application.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record SearchResult(
+        String query,
+        long total,
+        int page,
+        int size,
+        List<SearchHit> hits
+) {
+}
@@ -0,0 +1,232 @@
+package com.example.Book.Store.Application.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fan-out of committed book changes to feed subscribers.
+ * <p>
+ * Every change gets the next sequence number and is kept in a bounded history,
+ * so a subscriber can resume after the id of the last event it saw. Event ids
+ * are {@code <epoch>-<seq>}: an id from an earlier run, or one older than the
+ * history, cannot be resumed and gets a resync instead, which tells the client
+ * to reload the catalogue.
+ * <p>
+ * Each subscriber has a queue of at most {@code book.feed.buffer-size} events.
+ * When a slow subscriber's queue is full it is dropped and replaced by a single
+ * resync. A subscription's queue is drained on a virtual thread of its own
+ * while it has events, so a send blocked on a client's full TCP window only
+ * holds that client back: its buffer fills and it gets a resync, and other
+ * subscribers keep receiving. No thread is held by an idle connection.
+ */
+@Slf4j
+@Component
+public class BookChangeFeed implements DisposableBean {
+    private static final int MAX_EVENTS_PER_TURN = 64;
+
+    private final long epoch = System.currentTimeMillis();
+    private final int historySize;
+    private final int bufferSize;
+    private final ArrayDeque<BookFeedEvent> history = new ArrayDeque<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService deliveryExecutor;
+    private final ScheduledExecutorService heartbeatScheduler;
+    private long lastSeq;
+
+    public BookChangeFeed(@Value("${book.feed.history-size:10000}") int historySize,
+                          @Value("${book.feed.buffer-size:1000}") int bufferSize,
+                          @Value("${book.feed.heartbeat-interval:15s}") Duration heartbeatInterval) {
+        this.historySize = historySize;
+        this.bufferSize = bufferSize;
+        this.deliveryExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("book-feed-", 1).factory());
+        this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("book-feed-heartbeat").daemon(true).factory());
+        heartbeatScheduler.scheduleWithFixedDelay(() -> subscriptions.forEach(Subscription::heartbeat),
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBookChanged(BookChangedEvent event) {
+        BookFeedEvent feedEvent = new BookFeedEvent(++lastSeq, event.type(), event.id(), event.book());
+        history.addLast(feedEvent);
+        if (history.size() > historySize) {
+            history.removeFirst();
+        }
+        subscriptions.forEach(subscription -> subscription.offer(feedEvent));
+    }
+
+    /**
+     * @param lastEventId the id of the last event the client saw, or {@code null} for changes from now on
+     */
+    public synchronized Subscription subscribe(String lastEventId, Subscriber subscriber) {
+        Subscription subscription = new Subscription(subscriber);
+        if (lastEventId != null) {
+            Long after = parseSeq(lastEventId);
+            long oldestResumable = history.isEmpty() ? lastSeq : history.getFirst().seq() - 1;
+            if (after == null || after > lastSeq || after < oldestResumable) {
+                subscription.resync(lastSeq);
+            } else {
+                history.stream()
+                        .filter(feedEvent -> feedEvent.seq() > after)
+                        .forEach(subscription::offer);
+            }
+        }
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    public String eventId(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    private Long parseSeq(String eventId) {
+        int separator = eventId.indexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(String.valueOf(epoch))) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        heartbeatScheduler.shutdownNow();
+        deliveryExecutor.shutdownNow();
+    }
+
+    /**
+     * Receives one subscription's events, one call at a time. Throwing ends
+     * the subscription.
+     */
+    public interface Subscriber {
+        void onEvent(String eventId, BookFeedEvent event) throws Exception;
+
+        void onResync(String eventId) throws Exception;
+
+        void onHeartbeat() throws Exception;
+    }
+
+    public final class Subscription {
+        private final Subscriber subscriber;
+        private final ArrayDeque<BookFeedEvent> queue = new ArrayDeque<>();
+        private long resyncSeq = -1;
+        private boolean heartbeatDue;
+        private boolean draining;
+        private boolean cancelled;
+
+        private Subscription(Subscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        public void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                queue.clear();
+            }
+            subscriptions.remove(this);
+        }
+
+        private synchronized void offer(BookFeedEvent feedEvent) {
+            if (cancelled) {
+                return;
+            }
+            if (queue.size() == bufferSize) {
+                log.debug("Feed subscriber fell {} events behind, sending resync", bufferSize);
+                queue.clear();
+                resyncSeq = feedEvent.seq();
+            } else {
+                queue.addLast(feedEvent);
+            }
+            scheduleDrain();
+        }
+
+        private synchronized void resync(long seq) {
+            queue.clear();
+            resyncSeq = seq;
+            scheduleDrain();
+        }
+
+        private synchronized void heartbeat() {
+            if (!cancelled && queue.isEmpty() && resyncSeq < 0) {
+                heartbeatDue = true;
+                scheduleDrain();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining) {
+                return;
+            }
+            draining = true;
+            try {
+                deliveryExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining = false;
+            }
+        }
+
+        private void drain() {
+            for (int delivered = 0; delivered < MAX_EVENTS_PER_TURN; delivered++) {
+                long resync;
+                BookFeedEvent feedEvent = null;
+                boolean heartbeat = false;
+                synchronized (this) {
+                    if (cancelled) {
+                        draining = false;
+                        return;
+                    }
+                    resync = resyncSeq;
+                    resyncSeq = -1;
+                    if (resync < 0) {
+                        feedEvent = queue.pollFirst();
+                        heartbeat = feedEvent == null && heartbeatDue;
+                    }
+                    heartbeatDue = false;
+                    if (resync < 0 && feedEvent == null && !heartbeat) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    if (resync >= 0) {
+                        subscriber.onResync(eventId(resync));
+                    } else if (feedEvent != null) {
+                        subscriber.onEvent(eventId(feedEvent.seq()), feedEvent);
+                    } else {
+                        subscriber.onHeartbeat();
+                    }
+                } catch (Exception e) {
+                    log.debug("Feed subscriber failed, cancelling: {}", e.getMessage());
+                    cancel();
+                    return;
+                }
+            }
+            synchronized (this) {
+                draining = false;
+                if (!queue.isEmpty() || resyncSeq >= 0) {
+                    scheduleDrain();
+                }
+            }
+        }
+    }
+}
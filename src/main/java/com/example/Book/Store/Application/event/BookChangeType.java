@@ -0,0 +1,7 @@
+package com.example.Book.Store.Application.event;
+
+public enum BookChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
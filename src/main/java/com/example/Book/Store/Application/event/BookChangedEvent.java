@@ -0,0 +1,29 @@
+package com.example.Book.Store.Application.event;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+
+/**
+ * Published by the write paths of the service layer. Listeners that keep
+ * derived state in step with the table use
+ * {@code @TransactionalEventListener(fallbackExecution = true)}, so they only
+ * see changes that were committed.
+ *
+ * @param book the book after the change, or {@code null} for {@link BookChangeType#DELETED}
+ */
+public record BookChangedEvent(
+        BookChangeType type,
+        Integer id,
+        BookDTO book
+) {
+    public static BookChangedEvent created(BookDTO book) {
+        return new BookChangedEvent(BookChangeType.CREATED, book.id(), book);
+    }
+
+    public static BookChangedEvent updated(BookDTO book) {
+        return new BookChangedEvent(BookChangeType.UPDATED, book.id(), book);
+    }
+
+    public static BookChangedEvent deleted(Integer id) {
+        return new BookChangedEvent(BookChangeType.DELETED, id, null);
+    }
+}
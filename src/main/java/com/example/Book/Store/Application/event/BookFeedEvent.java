@@ -0,0 +1,17 @@
+package com.example.Book.Store.Application.event;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+
+/**
+ * A committed {@link BookChangedEvent} as sent on the change feed.
+ *
+ * @param seq  position in the feed, increasing by one per change
+ * @param book the book after the change, or {@code null} for {@link BookChangeType#DELETED}
+ */
+public record BookFeedEvent(
+        long seq,
+        BookChangeType type,
+        Integer id,
+        BookDTO book
+) {
+}
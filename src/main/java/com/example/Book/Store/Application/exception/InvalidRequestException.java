@@ -0,0 +1,7 @@
+package com.example.Book.Store.Application.exception;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.Book.Store.Application.exception;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WebFlux twin of {@link RestResponseEntityExceptionHandler}, producing the
+ * same statuses and bodies.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveResponseEntityExceptionHandler extends ResponseEntityExceptionHandler {
+    private ResponseEntity<Object> getErrorMessageRequest(HttpStatus httpStatus, Exception e) {
+        return new ResponseEntity<>(ErrorMessage.builder().message(e.getMessage()).build(), httpStatus);
+    }
+
+    @ExceptionHandler(BookNotFoundException.class)
+    public ResponseEntity<Object> handleNotFoundException(BookNotFoundException e) {
+        logger.error("Not found: {}", e);
+        return getErrorMessageRequest(HttpStatus.NOT_FOUND, e);
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Object> handleInvalidRequestException(InvalidRequestException e) {
+        logger.error("Invalid request: {}", e);
+        return getErrorMessageRequest(HttpStatus.BAD_REQUEST, e);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Object> handlePreconditionFailedException(PreconditionFailedException e) {
+        logger.error("Precondition failed: {}", e);
+        return getErrorMessageRequest(HttpStatus.PRECONDITION_FAILED, e);
+    }
+
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(WebExchangeBindException ex,
+                                                                         HttpHeaders headers,
+                                                                         HttpStatusCode status,
+                                                                         ServerWebExchange exchange) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error -> {
+            logger.error(String.format("Validation error for field '%s': %s", error.getField(), error.getDefaultMessage()));
+            errors.put(error.getField(), error.getDefaultMessage());
+        });
+
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors));
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.Book.Store.Application.exception;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -14,6 +16,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionHandler {
     private ResponseEntity<Object> getErrorMessageRequest(HttpStatus httpStatus, Exception e) {
         return new ResponseEntity<>(ErrorMessage.builder().message(e.getMessage()).build(), httpStatus);
@@ -25,6 +28,34 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
         return getErrorMessageRequest(HttpStatus.NOT_FOUND, e);
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Object> handleInvalidRequestException(InvalidRequestException e) {
+        logger.error("Invalid request: {}", e);
+        return getErrorMessageRequest(HttpStatus.BAD_REQUEST, e);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Object> handlePreconditionFailedException(PreconditionFailedException e) {
+        logger.error("Precondition failed: {}", e);
+        return getErrorMessageRequest(HttpStatus.PRECONDITION_FAILED, e);
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Object> handleServiceBusyException(ServiceBusyException e) {
+        logger.warn("Service busy: " + e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000)))
+                .body(ErrorMessage.builder().message(e.getMessage()).build());
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        logger.error("Concurrent modification: {}", e);
+        return new ResponseEntity<>(ErrorMessage.builder()
+                .message("Book Id With " + e.getIdentifier() + " was modified concurrently")
+                .build(), HttpStatus.PRECONDITION_FAILED);
+    }
+
 
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
@@ -0,0 +1,17 @@
+package com.example.Book.Store.Application.importer;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+
+public record BookRow(
+        long line,
+        BookDTO book,
+        String error
+) {
+    public static BookRow of(long line, BookDTO book) {
+        return new BookRow(line, book, null);
+    }
+
+    public static BookRow rejected(long line, String error) {
+        return new BookRow(line, null, error);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.Book.Store.Application.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads one {@link BookRow} at a time from an upload, so an import never holds
+ * more than the current row in memory.
+ */
+public interface BookRowReader extends Closeable {
+    /**
+     * @return the next row, or {@code null} at the end of the input
+     */
+    BookRow next() throws IOException;
+}
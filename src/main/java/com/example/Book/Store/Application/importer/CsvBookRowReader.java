@@ -0,0 +1,136 @@
+package com.example.Book.Store.Application.importer;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.exception.InvalidRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180 style CSV with a header row naming the {@code bookTitle},
+ * {@code bookAuthor} and {@code bookYear} columns (in any order; snake case
+ * names are accepted too). Quoted fields may contain commas, doubled quotes
+ * and line breaks.
+ */
+public class CsvBookRowReader implements BookRowReader {
+    private final BufferedReader reader;
+    private final int titleColumn;
+    private final int authorColumn;
+    private final int yearColumn;
+    private long line;
+
+    public CsvBookRowReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new InvalidRequestException("CSV header is required");
+        }
+        List<String> columns = header.stream()
+                .map(column -> column.trim().replace("_", "").toLowerCase(Locale.ROOT))
+                .toList();
+        this.titleColumn = requireColumn(columns, "booktitle");
+        this.authorColumn = requireColumn(columns, "bookauthor");
+        this.yearColumn = requireColumn(columns, "bookyear");
+    }
+
+    @Override
+    public BookRow next() throws IOException {
+        List<String> fields;
+        long recordLine;
+        do {
+            recordLine = line + 1;
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        int required = Math.max(titleColumn, Math.max(authorColumn, yearColumn)) + 1;
+        if (fields.size() < required) {
+            return BookRow.rejected(recordLine, "Expected at least " + required + " columns but found " + fields.size());
+        }
+
+        Integer bookYear = null;
+        String year = fields.get(yearColumn).trim();
+        if (!year.isEmpty()) {
+            try {
+                bookYear = Integer.valueOf(year);
+            } catch (NumberFormatException e) {
+                return BookRow.rejected(recordLine, "bookYear: '" + year + "' is not a number");
+            }
+        }
+        return BookRow.of(recordLine, BookDTO.builder()
+                .bookTitle(emptyToNull(fields.get(titleColumn)))
+                .bookAuthor(emptyToNull(fields.get(authorColumn)))
+                .bookYear(bookYear)
+                .build());
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private List<String> readRecord() throws IOException {
+        String text = reader.readLine();
+        if (text == null) {
+            return null;
+        }
+        line++;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    break;
+                }
+                String continuation = reader.readLine();
+                if (continuation == null) {
+                    break;
+                }
+                line++;
+                field.append('\n');
+                text = continuation;
+                i = 0;
+                continue;
+            }
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c == '"' && i < text.length() && text.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static int requireColumn(List<String> columns, String name) {
+        int index = columns.indexOf(name);
+        if (index < 0) {
+            throw new InvalidRequestException("CSV header must contain bookTitle, bookAuthor and bookYear");
+        }
+        return index;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
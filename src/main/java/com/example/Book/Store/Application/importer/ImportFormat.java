@@ -0,0 +1,6 @@
+package com.example.Book.Store.Application.importer;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
@@ -22,6 +22,7 @@ public class BookMapper implements Mapper<Book, BookDTO>{
                 .bookAuthor(bookStore.getBookAuthor())
                 .bookTitle(bookStore.getBookTitle())
                 .bookYear(bookStore.getBookYear())
+                .version(bookStore.getVersion())
                 .build();
     }
 }
@@ -13,8 +13,10 @@ import lombok.*;
 @Table(name = "BOOK")
 @Data
 public class Book {
+    public static final int ID_ALLOCATION_SIZE = 50;
 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Id
     @Column(name = "id")
     private Integer id;
@@ -27,4 +29,8 @@ public class Book {
 
     @Column(name = "book_year")
     private Integer bookYear;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
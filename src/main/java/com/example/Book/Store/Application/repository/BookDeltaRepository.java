@@ -0,0 +1,13 @@
+package com.example.Book.Store.Application.repository;
+
+import com.example.Book.Store.Application.dto.BookDelta;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface BookDeltaRepository {
+    /**
+     * Both queries read in one transaction; it names the JPA transaction
+     * manager because the R2DBC one is also present.
+     */
+    @Transactional(transactionManager = "transactionManager", readOnly = true)
+    BookDelta findChangesSince(long since, int limit);
+}
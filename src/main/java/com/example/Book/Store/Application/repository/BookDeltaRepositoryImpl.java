@@ -0,0 +1,77 @@
+package com.example.Book.Store.Application.repository;
+
+import com.example.Book.Store.Application.config.ChangeSeqFence;
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.BookDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads changes by {@code change_seq}: at most {@code limit + 1} rows from the
+ * book and tombstone indexes each, merged so the first {@code limit} changes
+ * of both are returned. Books are read before tombstones, so a book deleted
+ * in between shows up in both lists rather than in neither.
+ * <p>
+ * Only changes up to {@link ChangeSeqFence#cap} are read, so a change still
+ * in flight below a committed one holds the watermark back until it ends.
+ */
+@RequiredArgsConstructor
+public class BookDeltaRepositoryImpl implements BookDeltaRepository {
+    private static final String SELECT_CHANGED_BOOKS = "SELECT id, book_title, book_author, book_year, version, change_seq"
+            + " FROM Book WHERE change_seq > ? AND change_seq <= ? ORDER BY change_seq LIMIT ?";
+    private static final String SELECT_TOMBSTONES = "SELECT id, change_seq FROM book_tombstone"
+            + " WHERE change_seq > ? AND change_seq <= ? ORDER BY change_seq LIMIT ?";
+    private static final String SELECT_HANDED_OUT = "SELECT BASE_VALUE - INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES"
+            + " WHERE SEQUENCE_SCHEMA = CURRENT_SCHEMA AND SEQUENCE_NAME = 'BOOK_CHANGE_SEQ'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeSeqFence changeSeqFence;
+
+    @Override
+    public BookDelta findChangesSince(long since, int limit) {
+        long cap = changeSeqFence.cap(jdbcTemplate.queryForObject(SELECT_HANDED_OUT, Long.class));
+        List<ChangedBook> changedBooks = jdbcTemplate.query(SELECT_CHANGED_BOOKS, (resultSet, rowNum) -> new ChangedBook(
+                BookDTO.builder()
+                        .id(resultSet.getInt("id"))
+                        .bookTitle(resultSet.getString("book_title"))
+                        .bookAuthor(resultSet.getString("book_author"))
+                        .bookYear(resultSet.getInt("book_year"))
+                        .version(resultSet.getLong("version"))
+                        .build(),
+                resultSet.getLong("change_seq")), since, cap, limit + 1);
+        List<Tombstone> tombstones = jdbcTemplate.query(SELECT_TOMBSTONES, (resultSet, rowNum) -> new Tombstone(
+                resultSet.getInt("id"),
+                resultSet.getLong("change_seq")), since, cap, limit + 1);
+
+        List<BookDTO> books = new ArrayList<>();
+        List<Integer> deletedIds = new ArrayList<>();
+        long watermark = since;
+        int b = 0;
+        int t = 0;
+        while (books.size() + deletedIds.size() < limit && (b < changedBooks.size() || t < tombstones.size())) {
+            if (t == tombstones.size()
+                    || b < changedBooks.size() && changedBooks.get(b).changeSeq() < tombstones.get(t).changeSeq()) {
+                books.add(changedBooks.get(b).book());
+                watermark = changedBooks.get(b++).changeSeq();
+            } else {
+                deletedIds.add(tombstones.get(t).id());
+                watermark = tombstones.get(t++).changeSeq();
+            }
+        }
+        return BookDelta.builder()
+                .books(books)
+                .deletedIds(deletedIds)
+                .watermark(watermark)
+                .hasMore(b < changedBooks.size() || t < tombstones.size())
+                .build();
+    }
+
+    private record ChangedBook(BookDTO book, long changeSeq) {
+    }
+
+    private record Tombstone(Integer id, long changeSeq) {
+    }
+}
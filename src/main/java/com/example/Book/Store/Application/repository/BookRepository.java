@@ -1,12 +1,87 @@
 package com.example.Book.Store.Application.repository;
 
+import com.example.Book.Store.Application.dto.BookDTO;
 import com.example.Book.Store.Application.model.Book;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Integer> {
+public interface BookRepository extends JpaRepository<Book, Integer>, BookStreamingRepository, BookDeltaRepository {
+   /**
+    * Reads rows straight into {@link BookDTO}s: no managed entities, so no
+    * persistence context entries, dirty-checking snapshots or flush.
+    */
+   String SELECT_BOOK_DTO = "select new com.example.Book.Store.Application.dto.BookDTO("
+           + "b.id, b.bookTitle, b.bookAuthor, b.bookYear, b.version) from Book b";
+
    Optional<Book> findById(Integer id);
+
+   @Transactional(readOnly = true)
+   @Query(SELECT_BOOK_DTO + " where b.id = :id")
+   Optional<BookDTO> findDtoById(Integer id);
+
+   @Transactional(readOnly = true)
+   @Query(SELECT_BOOK_DTO + " where b.id in :ids")
+   List<BookDTO> findDtosByIdIn(Collection<Integer> ids);
+
+   @Transactional(readOnly = true)
+   @Query(SELECT_BOOK_DTO + " order by b.id")
+   List<BookDTO> findAllDtos();
+
+   List<Book> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+
+   @Transactional(readOnly = true)
+   @Query(SELECT_BOOK_DTO + " where b.bookAuthor = :author and b.id > :afterId order by b.id")
+   List<BookDTO> findDtosByAuthor(String author, Integer afterId, Limit limit);
+
+   /**
+    * Keyset page of {@code fromYear..toYear} ordered by year and id; rows of
+    * {@code fromYear} itself start after {@code afterId}.
+    */
+   @Transactional(readOnly = true)
+   @Query(SELECT_BOOK_DTO + " where b.bookYear >= :fromYear and b.bookYear <= :toYear"
+           + " and (b.bookYear > :fromYear or b.id > :afterId) order by b.bookYear, b.id")
+   List<BookDTO> findDtosByYearRange(Integer fromYear, Integer toYear, Integer afterId, Limit limit);
+
+   /**
+    * Keyset page of titles in {@code [fromTitle, toTitle)} ordered by title
+    * and id; rows titled {@code fromTitle} start after {@code afterId}.
+    */
+   @Transactional(readOnly = true)
+   @Query(SELECT_BOOK_DTO + " where b.bookTitle >= :fromTitle and b.bookTitle < :toTitle"
+           + " and (b.bookTitle > :fromTitle or b.id > :afterId) order by b.bookTitle, b.id")
+   List<BookDTO> findDtosByTitleRange(String fromTitle, String toTitle, Integer afterId, Limit limit);
+
+   @Query("select b.id from Book b where b.id in :ids")
+   List<Integer> findExistingIds(Collection<Integer> ids);
+
+   @Transactional
+   @Modifying
+   @Query("update Book b set b.bookTitle = :#{#book.bookTitle}, b.bookAuthor = :#{#book.bookAuthor}, "
+           + "b.bookYear = :#{#book.bookYear}, b.version = b.version + 1 "
+           + "where b.id = :id and (:version is null or b.version = :version)")
+   int updateIfVersion(Integer id, Book book, Long version);
+
+   /**
+    * Deletes and leaves a tombstone for the delta sync in one statement.
+    */
+   @Transactional
+   @Modifying
+   @Query(nativeQuery = true, value = "MERGE INTO book_tombstone(id) KEY(id) SELECT id FROM OLD TABLE ("
+           + "DELETE FROM Book WHERE id = :id AND (:version IS NULL OR version = :version))")
+   int deleteIfVersion(Integer id, Long version);
+
+   @Transactional
+   @Modifying
+   @Query(nativeQuery = true, value = "MERGE INTO book_tombstone(id) KEY(id) SELECT id FROM OLD TABLE ("
+           + "DELETE FROM Book WHERE id IN (:ids))")
+   int deleteAllByIdWithTombstones(Collection<Integer> ids);
 }
@@ -0,0 +1,9 @@
+package com.example.Book.Store.Application.repository;
+
+import com.example.Book.Store.Application.model.Book;
+
+import java.util.function.Consumer;
+
+public interface BookStreamingRepository {
+    void streamAll(int fetchSize, Consumer<Book> consumer);
+}
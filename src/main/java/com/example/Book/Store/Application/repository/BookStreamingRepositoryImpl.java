@@ -0,0 +1,36 @@
+package com.example.Book.Store.Application.repository;
+
+import com.example.Book.Store.Application.model.Book;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.util.function.Consumer;
+
+/**
+ * Reads the catalogue row by row with a JDBC fetch size, so no entity list
+ * or persistence context grows with the size of the table.
+ */
+@RequiredArgsConstructor
+public class BookStreamingRepositoryImpl implements BookStreamingRepository {
+    private static final String SELECT_ALL_BOOKS =
+            "SELECT id, book_title, book_author, book_year, version FROM Book ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void streamAll(int fetchSize, Consumer<Book> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_ALL_BOOKS);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> consumer.accept(Book.builder()
+                .id(resultSet.getInt("id"))
+                .bookTitle(resultSet.getString("book_title"))
+                .bookAuthor(resultSet.getString("book_author"))
+                .bookYear(resultSet.getInt("book_year"))
+                .version(resultSet.getLong("version"))
+                .build()));
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.Book.Store.Application.repository;
+
+import com.example.Book.Store.Application.config.ChangeSeqFence;
+import com.example.Book.Store.Application.model.Book;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Non-blocking access to the {@code Book} table over R2DBC, issuing the same
+ * statements as {@link BookRepository}.
+ * <p>
+ * Ids come from {@code book_seq} with Hibernate's pooled semantics: each
+ * sequence value {@code hi} reserves {@code hi - 49 .. hi}, so ids handed out
+ * here never collide with those the JPA side allocates. Writes are
+ * {@linkplain ChangeSeqFence#guard guarded} so delta reads wait for them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveBookRepository {
+    private static final String COLUMNS = "id, book_title, book_author, book_year, version";
+
+    private final DatabaseClient databaseClient;
+    private final ChangeSeqFence changeSeqFence;
+    private final AtomicReference<IdBlock> idBlock = new AtomicReference<>();
+
+    public Mono<Book> findById(Integer id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM Book WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveBookRepository::toBook)
+                .one();
+    }
+
+    public Flux<Book> findAllById(Collection<Integer> ids) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM Book WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .map(ReactiveBookRepository::toBook)
+                .all();
+    }
+
+    public Flux<Book> findAll() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM Book ORDER BY id")
+                .map(ReactiveBookRepository::toBook)
+                .all();
+    }
+
+    public Flux<Book> findByIdGreaterThanOrderByIdAsc(Integer after, int limit) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM Book WHERE id > :after ORDER BY id LIMIT :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactiveBookRepository::toBook)
+                .all();
+    }
+
+    public Mono<Boolean> existsById(Integer id) {
+        return databaseClient.sql("SELECT 1 FROM Book WHERE id = :id")
+                .bind("id", id)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<Book> insert(Book book) {
+        return nextId().flatMap(id -> changeSeqFence.guard(databaseClient.sql("INSERT INTO Book (" + COLUMNS + ") "
+                        + "VALUES (:id, :bookTitle, :bookAuthor, :bookYear, 0)")
+                .bind("id", id)
+                .bind("bookTitle", book.getBookTitle())
+                .bind("bookAuthor", book.getBookAuthor())
+                .bind("bookYear", book.getBookYear())
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(Book.builder()
+                        .id(id)
+                        .bookTitle(book.getBookTitle())
+                        .bookAuthor(book.getBookAuthor())
+                        .bookYear(book.getBookYear())
+                        .version(0L)
+                        .build())));
+    }
+
+    /**
+     * @return the number of rows updated; zero when the book is missing or
+     * not at {@code version}, which {@code null} leaves unchecked
+     */
+    public Mono<Long> updateIfVersion(Integer id, Book book, Long version) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("UPDATE Book SET book_title = :bookTitle, "
+                        + "book_author = :bookAuthor, book_year = :bookYear, version = version + 1 "
+                        + "WHERE id = :id" + (version == null ? "" : " AND version = :version"))
+                .bind("bookTitle", book.getBookTitle())
+                .bind("bookAuthor", book.getBookAuthor())
+                .bind("bookYear", book.getBookYear())
+                .bind("id", id);
+        return changeSeqFence.guard((version == null ? spec : spec.bind("version", version)).fetch().rowsUpdated());
+    }
+
+    public Mono<Long> deleteIfVersion(Integer id, Long version) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("MERGE INTO book_tombstone(id) KEY(id) "
+                        + "SELECT id FROM OLD TABLE (DELETE FROM Book "
+                        + "WHERE id = :id" + (version == null ? "" : " AND version = :version") + ")")
+                .bind("id", id);
+        return changeSeqFence.guard((version == null ? spec : spec.bind("version", version)).fetch().rowsUpdated());
+    }
+
+    private Mono<Integer> nextId() {
+        return Mono.defer(() -> {
+            IdBlock block = idBlock.get();
+            int id = block == null ? Integer.MAX_VALUE : block.next().getAndIncrement();
+            if (block != null && id <= block.hi()) {
+                return Mono.just(id);
+            }
+            return databaseClient.sql("SELECT NEXT VALUE FOR book_seq")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .map(hi -> {
+                        IdBlock next = new IdBlock(new AtomicInteger((int) (hi - Book.ID_ALLOCATION_SIZE + 1)), hi.intValue());
+                        int allocated = next.next().getAndIncrement();
+                        idBlock.set(next);
+                        return allocated;
+                    });
+        });
+    }
+
+    private static Book toBook(Readable row) {
+        return Book.builder()
+                .id(row.get("id", Integer.class))
+                .bookTitle(row.get("book_title", String.class))
+                .bookAuthor(row.get("book_author", String.class))
+                .bookYear(row.get("book_year", Integer.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+
+    private record IdBlock(AtomicInteger next, int hi) {
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.Book.Store.Application.search;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.SearchHit;
+import com.example.Book.Store.Application.dto.SearchResult;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over book title and author.
+ * <p>
+ * Every query term must match a title or author term, either exactly, as a
+ * prefix (for autocomplete) or within one edit (for typos, terms of
+ * {@value #MIN_FUZZY_LENGTH} characters or more). Typo candidates come from a
+ * single-deletion neighbourhood map, so no scan of the term dictionary is
+ * needed. Writers are serialized; readers never lock.
+ */
+public class BookSearchIndex {
+    static final int MIN_FUZZY_LENGTH = 4;
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final int TITLE = 1;
+    private static final int AUTHOR = 2;
+    private static final double EXACT_SCORE = 3;
+    private static final double PREFIX_SCORE = 2;
+    private static final double FUZZY_SCORE = 1;
+    private static final double TITLE_WEIGHT = 2;
+    private static final double AUTHOR_WEIGHT = 1;
+
+    private final ConcurrentHashMap<Integer, IndexedBook> documents = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Map<Integer, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, Set<String>> deletionNeighbours = new ConcurrentHashMap<>();
+    private final int maxPrefixExpansions;
+
+    public BookSearchIndex(int maxPrefixExpansions) {
+        this.maxPrefixExpansions = maxPrefixExpansions;
+    }
+
+    public synchronized void index(BookDTO bookDTO) {
+        remove(bookDTO.id());
+        Map<String, Integer> fieldsByTerm = new HashMap<>();
+        tokenize(bookDTO.bookTitle()).forEach(term -> fieldsByTerm.merge(term, TITLE, (a, b) -> a | b));
+        tokenize(bookDTO.bookAuthor()).forEach(term -> fieldsByTerm.merge(term, AUTHOR, (a, b) -> a | b));
+
+        fieldsByTerm.forEach((term, fields) -> postings.compute(term, (key, docs) -> {
+            if (docs == null) {
+                docs = new ConcurrentHashMap<>();
+                addNeighbours(term);
+            }
+            docs.put(bookDTO.id(), fields);
+            return docs;
+        }));
+        documents.put(bookDTO.id(), new IndexedBook(bookDTO, Set.copyOf(fieldsByTerm.keySet())));
+    }
+
+    public synchronized void remove(Integer id) {
+        IndexedBook indexedBook = documents.remove(id);
+        if (indexedBook == null) {
+            return;
+        }
+        indexedBook.terms().forEach(term -> postings.computeIfPresent(term, (key, docs) -> {
+            docs.remove(id);
+            if (docs.isEmpty()) {
+                removeNeighbours(term);
+                return null;
+            }
+            return docs;
+        }));
+    }
+
+    public boolean contains(Integer id) {
+        return documents.containsKey(id);
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public SearchResult search(String query, int page, int size) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return SearchResult.builder()
+                    .query(query)
+                    .page(page)
+                    .size(size)
+                    .hits(List.of())
+                    .build();
+        }
+
+        Map<Integer, Double> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Integer, Double> termScores = scoreTerm(queryTerm);
+            scores = scores == null ? termScores : intersect(scores, termScores);
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+
+        return SearchResult.builder()
+                .query(query)
+                .total(scores.size())
+                .page(page)
+                .size(size)
+                .hits(topHits(scores, page, size))
+                .build();
+    }
+
+    private Map<Integer, Double> scoreTerm(String queryTerm) {
+        Map<Integer, Double> scores = new HashMap<>();
+        NavigableMap<String, Map<Integer, Integer>> prefixMatches =
+                postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false);
+        int expansions = 0;
+        for (Map.Entry<String, Map<Integer, Integer>> entry : prefixMatches.entrySet()) {
+            if (expansions++ == maxPrefixExpansions) {
+                break;
+            }
+            double matchScore = entry.getKey().equals(queryTerm) ? EXACT_SCORE : PREFIX_SCORE;
+            accumulate(scores, entry.getValue(), matchScore);
+        }
+
+        if (queryTerm.length() >= MIN_FUZZY_LENGTH) {
+            for (String candidate : fuzzyCandidates(queryTerm)) {
+                Map<Integer, Integer> docs = postings.get(candidate);
+                if (docs != null && !candidate.startsWith(queryTerm)) {
+                    accumulate(scores, docs, FUZZY_SCORE);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private Set<String> fuzzyCandidates(String queryTerm) {
+        Set<String> candidates = new LinkedHashSet<>();
+        for (String variant : deletions(queryTerm, true)) {
+            Set<String> terms = deletionNeighbours.get(variant);
+            if (terms != null) {
+                terms.stream()
+                        .filter(term -> withinOneEdit(queryTerm, term))
+                        .forEach(candidates::add);
+            }
+        }
+        return candidates;
+    }
+
+    private static void accumulate(Map<Integer, Double> scores, Map<Integer, Integer> docs, double matchScore) {
+        docs.forEach((id, fields) -> {
+            double weight = ((fields & TITLE) != 0 ? TITLE_WEIGHT : 0) + ((fields & AUTHOR) != 0 ? AUTHOR_WEIGHT : 0);
+            scores.merge(id, matchScore * weight, Math::max);
+        });
+    }
+
+    private static Map<Integer, Double> intersect(Map<Integer, Double> left, Map<Integer, Double> right) {
+        Map<Integer, Double> smaller = left.size() <= right.size() ? left : right;
+        Map<Integer, Double> larger = smaller == left ? right : left;
+        Map<Integer, Double> intersection = new HashMap<>();
+        smaller.forEach((id, score) -> {
+            Double other = larger.get(id);
+            if (other != null) {
+                intersection.put(id, score + other);
+            }
+        });
+        return intersection;
+    }
+
+    private List<SearchHit> topHits(Map<Integer, Double> scores, int page, int size) {
+        int limit = (page + 1) * size;
+        if (limit <= 0 || scores.isEmpty()) {
+            return List.of();
+        }
+        Comparator<Map.Entry<Integer, Double>> ranking = Map.Entry.<Integer, Double>comparingByValue()
+                .reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(Math.min(limit, scores.size()) + 1, ranking.reversed());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(ranking);
+        List<SearchHit> hits = new ArrayList<>(size);
+        for (int i = page * size; i < ranked.size(); i++) {
+            IndexedBook indexedBook = documents.get(ranked.get(i).getKey());
+            if (indexedBook != null) {
+                hits.add(SearchHit.builder()
+                        .book(indexedBook.book())
+                        .score(ranked.get(i).getValue())
+                        .build());
+            }
+        }
+        return hits;
+    }
+
+    private void addNeighbours(String term) {
+        if (term.length() < MIN_FUZZY_LENGTH - 1) {
+            return;
+        }
+        for (String variant : deletions(term, true)) {
+            deletionNeighbours.computeIfAbsent(variant, key -> ConcurrentHashMap.newKeySet()).add(term);
+        }
+    }
+
+    private void removeNeighbours(String term) {
+        if (term.length() < MIN_FUZZY_LENGTH - 1) {
+            return;
+        }
+        for (String variant : deletions(term, true)) {
+            deletionNeighbours.computeIfPresent(variant, (key, terms) -> {
+                terms.remove(term);
+                return terms.isEmpty() ? null : terms;
+            });
+        }
+    }
+
+    private static Set<String> deletions(String term, boolean includeSelf) {
+        Set<String> variants = new LinkedHashSet<>();
+        if (includeSelf) {
+            variants.add(term);
+        }
+        for (int i = 0; i < term.length(); i++) {
+            variants.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return variants;
+    }
+
+    /**
+     * Optimal string alignment distance of at most one: one insertion,
+     * deletion, substitution or transposition of adjacent characters.
+     */
+    static boolean withinOneEdit(String a, String b) {
+        int lengthDifference = a.length() - b.length();
+        if (Math.abs(lengthDifference) > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (lengthDifference > 0) {
+            return a.regionMatches(i + 1, b, i, b.length() - i);
+        }
+        if (lengthDifference < 0) {
+            return b.regionMatches(i + 1, a, i, a.length() - i);
+        }
+        if (i == a.length() || a.regionMatches(i + 1, b, i + 1, a.length() - i - 1)) {
+            return true;
+        }
+        return i + 1 < a.length()
+                && a.charAt(i) == b.charAt(i + 1)
+                && a.charAt(i + 1) == b.charAt(i)
+                && a.regionMatches(i + 2, b, i + 2, a.length() - i - 2);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for (String term : NON_ALPHANUMERIC.split(normalized)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private record IndexedBook(BookDTO book, Set<String> terms) {
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.Book.Store.Application.service;
+
+import com.example.Book.Store.Application.cache.BookCache;
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.BulkItemResult;
+import com.example.Book.Store.Application.dto.BulkItemStatus;
+import com.example.Book.Store.Application.dto.BulkResult;
+import com.example.Book.Store.Application.event.BookChangedEvent;
+import com.example.Book.Store.Application.exception.InvalidRequestException;
+import com.example.Book.Store.Application.mapper.Mapper;
+import com.example.Book.Store.Application.model.Book;
+import com.example.Book.Store.Application.repository.BookRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk create, update and delete. Valid items are written in chunks of
+ * {@code book.bulk.batch-size}, one transaction per chunk, so Hibernate can
+ * batch the statements. When a chunk fails its items are retried one by one,
+ * so a single bad item only rejects itself. Created books are not put into
+ * the {@link BookCache}; updated and deleted ids are evicted from it.
+ * {@link BookChangedEvent}s are published inside the chunk transaction, so
+ * transactional listeners only see chunks that committed.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookBulkService {
+    private final Mapper<Book, BookDTO> mapper;
+    private final BookRepository bookRepository;
+    private final BookCache bookCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${book.bulk.batch-size:50}")
+    private int batchSize;
+
+    @Value("${book.bulk.max-items:10000}")
+    private int maxItems;
+
+    public BulkResult createBooks(List<BookDTO> bookDTOs) {
+        checkSize(bookDTOs.size());
+        return execute(bookDTOs.size(),
+                index -> validate(bookDTOs.get(index)),
+                index -> null,
+                indexes -> {
+                    List<Book> savedBooks = bookRepository.saveAll(indexes.stream()
+                            .map(index -> mapper.mapToEntity(bookDTOs.get(index)))
+                            .toList());
+                    List<BulkItemResult> chunkResults = new ArrayList<>(indexes.size());
+                    for (int i = 0; i < indexes.size(); i++) {
+                        Book savedBook = savedBooks.get(i);
+                        eventPublisher.publishEvent(BookChangedEvent.created(mapper.mapToDTO(savedBook)));
+                        chunkResults.add(succeeded(indexes.get(i), savedBook.getId(), BulkItemStatus.CREATED));
+                    }
+                    return chunkResults;
+                });
+    }
+
+    public BulkResult updateBooks(List<BookDTO> bookDTOs) {
+        checkSize(bookDTOs.size());
+        return execute(bookDTOs.size(),
+                index -> bookDTOs.get(index).id() == null ? "Book id is required" : validate(bookDTOs.get(index)),
+                index -> bookDTOs.get(index).id(),
+                indexes -> {
+                    Map<Integer, Book> existingBooks = bookRepository.findAllById(indexes.stream()
+                                    .map(index -> bookDTOs.get(index).id())
+                                    .toList())
+                            .stream()
+                            .collect(Collectors.toMap(Book::getId, Function.identity()));
+                    List<BulkItemResult> chunkResults = new ArrayList<>(indexes.size());
+                    List<Book> updatedBooks = new ArrayList<>(indexes.size());
+                    for (Integer index : indexes) {
+                        BookDTO bookDTO = bookDTOs.get(index);
+                        Book existingBook = existingBooks.get(bookDTO.id());
+                        if (existingBook == null) {
+                            chunkResults.add(rejected(index, bookDTO.id(), notFound(bookDTO.id())));
+                            continue;
+                        }
+                        existingBook.setBookAuthor(bookDTO.bookAuthor());
+                        existingBook.setBookTitle(bookDTO.bookTitle());
+                        existingBook.setBookYear(bookDTO.bookYear());
+                        updatedBooks.add(existingBook);
+                        chunkResults.add(succeeded(index, bookDTO.id(), BulkItemStatus.UPDATED));
+                    }
+                    // Flushed first, so events carry the version the chunk commits
+                    bookRepository.flush();
+                    updatedBooks.forEach(book -> eventPublisher.publishEvent(BookChangedEvent.updated(mapper.mapToDTO(book))));
+                    return chunkResults;
+                });
+    }
+
+    public BulkResult deleteBooks(List<Integer> ids) {
+        checkSize(ids.size());
+        return execute(ids.size(),
+                index -> ids.get(index) == null ? "Book id is required" : null,
+                ids::get,
+                indexes -> {
+                    Set<Integer> existingIds = new HashSet<>(bookRepository.findExistingIds(indexes.stream()
+                            .map(ids::get)
+                            .toList()));
+                    if (!existingIds.isEmpty()) {
+                        bookRepository.deleteAllByIdWithTombstones(existingIds);
+                    }
+                    existingIds.forEach(id -> eventPublisher.publishEvent(BookChangedEvent.deleted(id)));
+                    return indexes.stream()
+                            .map(index -> existingIds.contains(ids.get(index))
+                                    ? succeeded(index, ids.get(index), BulkItemStatus.DELETED)
+                                    : rejected(index, ids.get(index), notFound(ids.get(index))))
+                            .toList();
+                });
+    }
+
+    private BulkResult execute(int size,
+                               IntFunction<String> validation,
+                               IntFunction<Integer> idOf,
+                               Function<List<Integer>, List<BulkItemResult>> operation) {
+        BulkItemResult[] results = new BulkItemResult[size];
+        List<Integer> chunk = new ArrayList<>(batchSize);
+        for (int index = 0; index < size; index++) {
+            String error = validation.apply(index);
+            if (error != null) {
+                results[index] = rejected(index, idOf.apply(index), error);
+                continue;
+            }
+            chunk.add(index);
+            if (chunk.size() == batchSize) {
+                executeChunk(List.copyOf(chunk), idOf, operation, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            executeChunk(List.copyOf(chunk), idOf, operation, results);
+        }
+
+        int rejected = (int) Arrays.stream(results)
+                .filter(result -> result.status() == BulkItemStatus.REJECTED)
+                .count();
+        return BulkResult.builder()
+                .succeeded(size - rejected)
+                .rejected(rejected)
+                .items(Arrays.asList(results))
+                .build();
+    }
+
+    private void executeChunk(List<Integer> indexes,
+                              IntFunction<Integer> idOf,
+                              Function<List<Integer>, List<BulkItemResult>> operation,
+                              BulkItemResult[] results) {
+        List<BulkItemResult> chunkResults;
+        try {
+            chunkResults = transactionTemplate.execute(status -> operation.apply(indexes));
+        } catch (RuntimeException e) {
+            if (indexes.size() == 1) {
+                Integer index = indexes.get(0);
+                results[index] = rejected(index, idOf.apply(index),
+                        NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            } else {
+                indexes.forEach(index -> executeChunk(List.of(index), idOf, operation, results));
+            }
+            return;
+        }
+
+        for (BulkItemResult result : chunkResults) {
+            results[result.index()] = result;
+            if (result.status() == BulkItemStatus.UPDATED || result.status() == BulkItemStatus.DELETED) {
+                bookCache.evict(result.id());
+            }
+        }
+    }
+
+    private String validate(BookDTO bookDTO) {
+        Set<ConstraintViolation<BookDTO>> violations = validator.validate(bookDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+    }
+
+    private void checkSize(int size) {
+        if (size > maxItems) {
+            throw new InvalidRequestException("Bulk request has " + size + " items, maximum is " + maxItems);
+        }
+    }
+
+    private static String notFound(Integer id) {
+        return "Book Id With " + id + " not found";
+    }
+
+    private static BulkItemResult succeeded(int index, Integer id, BulkItemStatus status) {
+        return BulkItemResult.builder()
+                .index(index)
+                .id(id)
+                .status(status)
+                .build();
+    }
+
+    private static BulkItemResult rejected(int index, Integer id, String error) {
+        return BulkItemResult.builder()
+                .index(index)
+                .id(id)
+                .status(BulkItemStatus.REJECTED)
+                .error(error)
+                .build();
+    }
+}
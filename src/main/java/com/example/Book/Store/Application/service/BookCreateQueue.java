@@ -0,0 +1,333 @@
+package com.example.Book.Store.Application.service;
+
+import com.example.Book.Store.Application.cache.BookCache;
+import com.example.Book.Store.Application.config.ReplicaRouting;
+import com.example.Book.Store.Application.dto.BookCreation;
+import com.example.Book.Store.Application.dto.BookCreationStatus;
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.event.BookChangedEvent;
+import com.example.Book.Store.Application.exception.ServiceBusyException;
+import com.example.Book.Store.Application.mapper.Mapper;
+import com.example.Book.Store.Application.model.Book;
+import com.example.Book.Store.Application.repository.BookRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit for single-book creates behind
+ * {@code book.create.group-commit.enabled}. Creates wait in a bounded queue
+ * and one writer thread saves them in groups of up to {@code batch-size},
+ * one transaction per group. A group is closed when it is full or
+ * {@code max-wait} after its first create, so under low load a create waits
+ * at most that long. When a group fails its creates are retried one by one,
+ * so a single bad create only fails itself.
+ * <p>
+ * A full queue pushes back: {@link #submit} waits up to {@code offer-timeout}
+ * for room and then throws {@link ServiceBusyException}. The outcome of each
+ * create stays available by its handle for {@code status-ttl}.
+ * <p>
+ * Groups commit on the writer thread, so the request thread tells
+ * {@link ReplicaRouting} about the write itself and reads that follow stay on
+ * the primary. For {@link #submit} that happens when the create is queued,
+ * ahead of its commit by up to {@code max-wait} plus the commit.
+ */
+@Slf4j
+@Service
+public class BookCreateQueue implements DisposableBean {
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final Mapper<Book, BookDTO> mapper;
+    private final BookRepository bookRepository;
+    private final BookCache bookCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxWaitNanos;
+    private final Duration offerTimeout;
+    private final Duration retryAfter;
+    private final Duration waitTimeout;
+    private final BlockingQueue<PendingCreate> queue;
+    private final Cache<String, BookCreation> creations;
+    private final DistributionSummary groupSize;
+    private final Timer commitTimer;
+    private final Timer createTimer;
+    private volatile boolean running;
+    private Thread writer;
+
+    public BookCreateQueue(Mapper<Book, BookDTO> mapper,
+                           BookRepository bookRepository,
+                           BookCache bookCache,
+                           TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           ObjectProvider<MeterRegistry> meterRegistry,
+                           @Value("${book.create.group-commit.enabled:false}") boolean enabled,
+                           @Value("${book.create.group-commit.queue-capacity:10000}") int queueCapacity,
+                           @Value("${book.create.group-commit.batch-size:100}") int batchSize,
+                           @Value("${book.create.group-commit.max-wait:5ms}") Duration maxWait,
+                           @Value("${book.create.group-commit.offer-timeout:50ms}") Duration offerTimeout,
+                           @Value("${book.create.group-commit.retry-after:1s}") Duration retryAfter,
+                           @Value("${book.create.group-commit.wait-timeout:30s}") Duration waitTimeout,
+                           @Value("${book.create.group-commit.status-ttl:10m}") Duration statusTtl,
+                           @Value("${book.create.group-commit.max-statuses:100000}") long maxStatuses) {
+        this.mapper = mapper;
+        this.bookRepository = bookRepository;
+        this.bookCache = bookCache;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.offerTimeout = offerTimeout;
+        this.retryAfter = retryAfter;
+        this.waitTimeout = waitTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.creations = Caffeine.newBuilder()
+                .maximumSize(maxStatuses)
+                .expireAfterWrite(statusTtl)
+                .build();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        Gauge.builder("book.create.queue.size", queue, BlockingQueue::size)
+                .description("Book creates waiting for a group commit")
+                .register(registry);
+        this.groupSize = DistributionSummary.builder("book.create.group.size")
+                .description("Book creates saved per group commit")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.commitTimer = Timer.builder("book.create.commit")
+                .description("Time to save and commit one group of book creates")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.createTimer = Timer.builder("book.create.latency")
+                .description("Time from queueing a book create until its group committed")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        if (enabled) {
+            start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a create and returns at once; its outcome is available from
+     * {@link #getCreation} by the returned handle.
+     *
+     * @throws ServiceBusyException when the queue stays full for {@code offer-timeout}
+     */
+    public BookCreation submit(BookDTO bookDTO) {
+        String handle = UUID.randomUUID().toString();
+        creations.put(handle, pending(handle));
+        try {
+            enqueue(bookDTO, handle);
+        } catch (ServiceBusyException e) {
+            creations.invalidate(handle);
+            throw e;
+        }
+        ReplicaRouting.writeCommitted();
+        return pending(handle);
+    }
+
+    /**
+     * Queues a create and waits up to {@code wait-timeout} for its group to commit.
+     *
+     * @throws ServiceBusyException when the queue stays full for {@code offer-timeout},
+     *                              or the create has not committed within {@code wait-timeout}
+     */
+    public BookDTO createAndWait(BookDTO bookDTO) {
+        BookDTO createdBook;
+        try {
+            createdBook = enqueue(bookDTO, null).get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ServiceBusyException("Book create did not commit within " + waitTimeout + " and may still be created",
+                    retryAfter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted waiting for book create to commit", retryAfter);
+        }
+        ReplicaRouting.writeCommitted();
+        return createdBook;
+    }
+
+    public Optional<BookCreation> getCreation(String handle) {
+        return Optional.ofNullable(creations.getIfPresent(handle));
+    }
+
+    /**
+     * @param handle where the outcome is kept, or {@code null} when only the returned future needs it
+     */
+    private CompletableFuture<BookDTO> enqueue(BookDTO bookDTO, String handle) {
+        PendingCreate pending = new PendingCreate(handle, bookDTO, System.nanoTime(), new CompletableFuture<>());
+        boolean queued;
+        try {
+            queued = running && queue.offer(pending, offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            throw new ServiceBusyException("Book create queue is full", retryAfter);
+        }
+        // Queued after destroy drained the queue, so nothing would commit it
+        if (!running && queue.remove(pending)) {
+            throw new ServiceBusyException("Book create queue is shutting down", retryAfter);
+        }
+        return pending.result();
+    }
+
+    private synchronized void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("book-create-writer").daemon(true).start(this::writeLoop);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingCreate> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            commit(remaining.subList(from, Math.min(remaining.size(), from + batchSize)));
+        }
+        remaining.clear();
+        queue.drainTo(remaining);
+        remaining.forEach(pending -> fail(pending, new ServiceBusyException("Book create queue is shutting down", retryAfter)));
+    }
+
+    private void writeLoop() {
+        List<PendingCreate> group = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingCreate first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (group.size() < batchSize) {
+                    if (queue.drainTo(group, batchSize - group.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingCreate next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!group.isEmpty()) {
+                commit(group);
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingCreate> group) {
+        long start = System.nanoTime();
+        List<BookDTO> createdBooks;
+        try {
+            createdBooks = transactionTemplate.execute(status -> {
+                List<Book> savedBooks = bookRepository.saveAll(group.stream()
+                        .map(pending -> mapper.mapToEntity(pending.request()))
+                        .toList());
+                List<BookDTO> bookDTOs = savedBooks.stream().map(mapper::mapToDTO).toList();
+                bookDTOs.forEach(bookDTO -> eventPublisher.publishEvent(BookChangedEvent.created(bookDTO)));
+                return bookDTOs;
+            });
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                fail(group.get(0), e);
+            } else {
+                group.forEach(pending -> commit(List.of(pending)));
+            }
+            return;
+        }
+
+        long committed = System.nanoTime();
+        commitTimer.record(committed - start, TimeUnit.NANOSECONDS);
+        groupSize.record(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            PendingCreate pending = group.get(i);
+            BookDTO createdBook = createdBooks.get(i);
+            bookCache.put(createdBook);
+            if (pending.handle() != null) {
+                creations.put(pending.handle(), BookCreation.builder()
+                        .handle(pending.handle())
+                        .status(BookCreationStatus.CREATED)
+                        .book(createdBook)
+                        .build());
+            }
+            createTimer.record(committed - pending.queuedNanos(), TimeUnit.NANOSECONDS);
+            pending.result().complete(createdBook);
+        }
+    }
+
+    private void fail(PendingCreate pending, RuntimeException e) {
+        log.warn("Queued book create failed", e);
+        if (pending.handle() != null) {
+            creations.put(pending.handle(), BookCreation.builder()
+                    .handle(pending.handle())
+                    .status(BookCreationStatus.FAILED)
+                    .error(NestedExceptionUtils.getMostSpecificCause(e).getMessage())
+                    .build());
+        }
+        pending.result().completeExceptionally(e);
+    }
+
+    private static BookCreation pending(String handle) {
+        return BookCreation.builder()
+                .handle(handle)
+                .status(BookCreationStatus.PENDING)
+                .build();
+    }
+
+    private record PendingCreate(String handle, BookDTO request, long queuedNanos,
+                                 CompletableFuture<BookDTO> result) {
+    }
+}
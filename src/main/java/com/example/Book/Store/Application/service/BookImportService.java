@@ -0,0 +1,131 @@
+package com.example.Book.Store.Application.service;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.BulkItemResult;
+import com.example.Book.Store.Application.dto.BulkItemStatus;
+import com.example.Book.Store.Application.dto.ImportRejection;
+import com.example.Book.Store.Application.dto.ImportReport;
+import com.example.Book.Store.Application.importer.BookRow;
+import com.example.Book.Store.Application.importer.BookRowReader;
+import com.example.Book.Store.Application.importer.CsvBookRowReader;
+import com.example.Book.Store.Application.importer.ImportFormat;
+import com.example.Book.Store.Application.importer.NdjsonBookRowReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports a CSV or NDJSON upload row by row. Rows are handed to
+ * {@link BookBulkService} in batches of {@code book.import.batch-size}, so
+ * memory use depends on the batch size and not on the size of the upload.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class BookImportService {
+    private final BookBulkService bookBulkService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${book.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${book.import.max-reported-rejections:1000}")
+    private int maxReportedRejections;
+
+    @Value("${book.import.progress-interval:50000}")
+    private long progressInterval;
+
+    public ImportReport importBooks(InputStream inputStream, ImportFormat format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        try (BookRowReader rowReader = format == ImportFormat.CSV
+                ? new CsvBookRowReader(reader)
+                : new NdjsonBookRowReader(reader, objectMapper.reader())) {
+            return new ImportRun().run(rowReader);
+        }
+    }
+
+    private class ImportRun {
+        private final long startNanos = System.nanoTime();
+        private final List<BookRow> batch = new ArrayList<>(batchSize);
+        private final List<ImportRejection> rejections = new ArrayList<>();
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+
+        ImportReport run(BookRowReader rowReader) throws IOException {
+            BookRow row;
+            while ((row = rowReader.next()) != null) {
+                rowsRead++;
+                if (row.error() != null) {
+                    reject(row.line(), row.error());
+                } else {
+                    batch.add(row);
+                    if (batch.size() == batchSize) {
+                        flush();
+                    }
+                }
+                if (rowsRead % progressInterval == 0) {
+                    log.info("Import progress: {} rows read, {} imported, {} rejected, {} rows/s",
+                            rowsRead, imported, rejected, rowsPerSecond());
+                }
+            }
+            flush();
+
+            ImportReport importReport = ImportReport.builder()
+                    .rowsRead(rowsRead)
+                    .imported(imported)
+                    .rejected(rejected)
+                    .rejections(rejections)
+                    .rejectionsTruncated(rejected > rejections.size())
+                    .durationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                    .rowsPerSecond(rowsPerSecond())
+                    .build();
+            log.info("Import finished: {} rows read, {} imported, {} rejected in {} ms",
+                    rowsRead, imported, rejected, importReport.durationMillis());
+            return importReport;
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<BookDTO> bookDTOs = batch.stream()
+                    .map(BookRow::book)
+                    .toList();
+            for (BulkItemResult result : bookBulkService.createBooks(bookDTOs).items()) {
+                if (result.status() == BulkItemStatus.REJECTED) {
+                    reject(batch.get(result.index()).line(), result.error());
+                } else {
+                    imported++;
+                }
+            }
+            batch.clear();
+        }
+
+        private void reject(long line, String error) {
+            rejected++;
+            if (rejections.size() < maxReportedRejections) {
+                rejections.add(ImportRejection.builder()
+                        .line(line)
+                        .error(error)
+                        .build());
+            }
+        }
+
+        private long rowsPerSecond() {
+            long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+            return rowsRead * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+    }
+}
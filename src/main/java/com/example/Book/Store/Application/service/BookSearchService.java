@@ -0,0 +1,89 @@
+package com.example.Book.Store.Application.service;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.SearchResult;
+import com.example.Book.Store.Application.event.BookChangeType;
+import com.example.Book.Store.Application.event.BookChangedEvent;
+import com.example.Book.Store.Application.exception.InvalidRequestException;
+import com.example.Book.Store.Application.mapper.Mapper;
+import com.example.Book.Store.Application.model.Book;
+import com.example.Book.Store.Application.repository.BookRepository;
+import com.example.Book.Store.Application.search.BookSearchIndex;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the {@link BookSearchIndex} in step with the Book table. The index is
+ * loaded once the application is ready and then follows committed
+ * {@link BookChangedEvent}s. Ids changed while the initial load is running are
+ * skipped by the load, so a stale row never overwrites a newer event.
+ */
+@Log4j2
+@Service
+public class BookSearchService {
+    private final Mapper<Book, BookDTO> mapper;
+    private final BookRepository bookRepository;
+    private final BookSearchIndex index;
+    private final int maxPageSize;
+    private final int streamFetchSize;
+    private volatile Set<Integer> changedDuringLoad;
+
+    public BookSearchService(Mapper<Book, BookDTO> mapper,
+                             BookRepository bookRepository,
+                             @Value("${book.search.max-prefix-expansions:500}") int maxPrefixExpansions,
+                             @Value("${book.search.max-page-size:100}") int maxPageSize,
+                             @Value("${book.stream.fetch-size:500}") int streamFetchSize) {
+        this.mapper = mapper;
+        this.bookRepository = bookRepository;
+        this.index = new BookSearchIndex(maxPrefixExpansions);
+        this.maxPageSize = maxPageSize;
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    public SearchResult search(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query must not be blank");
+        }
+        if (page < 0 || size < 1) {
+            throw new InvalidRequestException("Page must be at least 0 and size at least 1");
+        }
+        return index.search(query, page, Math.min(size, maxPageSize));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long start = System.nanoTime();
+        Set<Integer> changed = ConcurrentHashMap.newKeySet();
+        changedDuringLoad = changed;
+        try {
+            bookRepository.streamAll(streamFetchSize, book -> {
+                if (!changed.contains(book.getId())) {
+                    index.index(mapper.mapToDTO(book));
+                }
+            });
+        } finally {
+            changedDuringLoad = null;
+        }
+        log.info("Search index loaded {} books in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        Set<Integer> changed = changedDuringLoad;
+        if (changed != null) {
+            changed.add(event.id());
+        }
+        if (event.type() == BookChangeType.DELETED) {
+            index.remove(event.id());
+        } else {
+            index.index(event.book());
+        }
+    }
+}
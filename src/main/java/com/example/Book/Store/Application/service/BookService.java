@@ -1,59 +1,308 @@
 package com.example.Book.Store.Application.service;
 
+import com.example.Book.Store.Application.cache.BookCache;
+import com.example.Book.Store.Application.cache.CatalogueVersion;
+import com.example.Book.Store.Application.config.BookLookupExecutor;
+import com.example.Book.Store.Application.config.ReplicaRouting;
 import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.BookDelta;
+import com.example.Book.Store.Application.dto.BookPage;
+import com.example.Book.Store.Application.dto.BookSlice;
+import com.example.Book.Store.Application.event.BookChangedEvent;
+import com.example.Book.Store.Application.exception.InvalidRequestException;
+import com.example.Book.Store.Application.exception.PreconditionFailedException;
 import com.example.Book.Store.Application.mapper.Mapper;
 import com.example.Book.Store.Application.model.Book;
 import com.example.Book.Store.Application.repository.BookRepository;
+import com.example.Book.Store.Application.snapshot.BookColumns;
+import com.example.Book.Store.Application.util.BookCursor;
+import com.example.Book.Store.Application.util.BookIds;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class BookService {
     private final Mapper<Book, BookDTO> mapper;
     private final BookRepository bookRepository;
+    private final BookCache bookCache;
+    private final BookLookupExecutor bookLookupExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogueVersion catalogueVersion;
+    private final BookSnapshotService bookSnapshotService;
 
+    @Value("${book.multi-get.max-ids:1000}")
+    private int maxMultiGetIds;
+
+    @Value("${book.multi-get.chunk-size:100}")
+    private int multiGetChunkSize;
+
+    @Value("${book.page.max-size:1000}")
+    private int maxPageSize;
+
+    @Value("${book.stream.fetch-size:500}")
+    private int streamFetchSize;
+
+    /**
+     * Cache misses load from the primary: the cache is shared by all clients,
+     * so an entry loaded from a lagging replica could outlive the lag.
+     */
     public Optional<BookDTO> getBookById(Integer id){
-        return bookRepository.findById(id)
-                .map(mapper::mapToDTO);
+        return bookCache.get(id, key -> ReplicaRouting.onPrimary(() -> bookRepository.findDtoById(key)));
     }
 
     public List<BookDTO> getBookByIds(List<Integer> ids) {
-        return bookRepository.findAllById(ids)
-                .stream()
-                .map(mapper::mapToDTO)
-                .toList();
+        int[] distinctIds = BookIds.distinct(ids);
+        if (distinctIds.length > maxMultiGetIds) {
+            throw new InvalidRequestException("Too many ids: " + distinctIds.length + ", maximum is " + maxMultiGetIds);
+        }
+
+        Map<Integer, BookDTO> foundBooks = new HashMap<>(distinctIds.length * 2);
+        List<Integer> uncachedIds = new ArrayList<>();
+        for (int id : distinctIds) {
+            bookCache.getIfPresent(id).ifPresentOrElse(
+                    bookDTO -> foundBooks.put(id, bookDTO),
+                    () -> uncachedIds.add(id));
+        }
+        findAllByIdInChunks(uncachedIds).forEach(bookDTO -> foundBooks.put(bookDTO.id(), bookDTO));
+
+        List<BookDTO> bookDTOList = new ArrayList<>(foundBooks.size());
+        for (int id : distinctIds) {
+            BookDTO bookDTO = foundBooks.get(id);
+            if (bookDTO != null) {
+                bookDTOList.add(bookDTO);
+            }
+        }
+        return bookDTOList;
+    }
+
+    private List<BookDTO> findAllByIdInChunks(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (ids.size() <= multiGetChunkSize) {
+            return findAllById(ids);
+        }
+
+        List<CompletableFuture<List<BookDTO>>> chunks = new ArrayList<>();
+        for (int from = multiGetChunkSize; from < ids.size(); from += multiGetChunkSize) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + multiGetChunkSize, ids.size()));
+            chunks.add(bookLookupExecutor.submit(() -> findAllById(chunk)));
+        }
+        List<BookDTO> bookDTOList = new ArrayList<>(findAllById(ids.subList(0, multiGetChunkSize)));
+        try {
+            chunks.forEach(chunk -> bookDTOList.addAll(chunk.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return bookDTOList;
+    }
+
+    private List<BookDTO> findAllById(List<Integer> ids) {
+        return bookRepository.findDtosByIdIn(ids);
     }
 
+    public String getCatalogueVersion() {
+        return catalogueVersion.current();
+    }
+
+    /**
+     * Version of what {@link #getAllBooks}, {@link #getBooksByAuthor} and
+     * {@link #getBooksByYearRange} read: the snapshot's own version while they
+     * are served from it, else the catalogue version.
+     */
+    public String getListingVersion() {
+        return snapshot()
+                .map(BookColumns::version)
+                .orElseGet(catalogueVersion::current);
+    }
+
+    /**
+     * Served from the catalogue snapshot once it is loaded; it reflects
+     * committed changes only, like the other list reads.
+     */
     public List<BookDTO> getAllBooks() {
-        return bookRepository.findAll()
+        return snapshot()
+                .map(BookColumns::all)
+                .orElseGet(bookRepository::findAllDtos);
+    }
+
+    public BookPage getBookPage(Integer after, int size) {
+        int pageSize = pageSize(size);
+        List<BookDTO> books = bookRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize))
                 .stream()
                 .map(mapper::mapToDTO)
                 .toList();
+        Integer nextCursor = books.size() < pageSize ? null : books.get(books.size() - 1).id();
+        return BookPage.builder()
+                .books(books)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    public BookSlice getBooksByAuthor(String author, String cursor, int size) {
+        if (author == null || author.isBlank()) {
+            throw new InvalidRequestException("Author is required");
+        }
+        BookCursor after = BookCursor.decode(cursor);
+        int pageSize = pageSize(size);
+        int afterId = after == null ? Integer.MIN_VALUE : after.id();
+        List<BookDTO> books = snapshot()
+                .map(snapshot -> snapshot.byAuthor(author, afterId, pageSize))
+                .orElseGet(() -> bookRepository.findDtosByAuthor(author, afterId, Limit.of(pageSize)));
+        return slice(books, pageSize, book -> "");
+    }
+
+    public BookSlice getBooksByYearRange(Integer fromYear, Integer toYear, String cursor, int size) {
+        if (fromYear > toYear) {
+            throw new InvalidRequestException("Year range " + fromYear + ".." + toYear + " is empty");
+        }
+        BookCursor after = BookCursor.decode(cursor);
+        boolean resume = after != null && parseYear(after.key()) >= fromYear;
+        int pageSize = pageSize(size);
+        int from = resume ? parseYear(after.key()) : fromYear;
+        int afterId = resume ? after.id() : Integer.MIN_VALUE;
+        List<BookDTO> books = snapshot()
+                .map(snapshot -> snapshot.byYearRange(from, toYear, afterId, pageSize))
+                .orElseGet(() -> bookRepository.findDtosByYearRange(from, toYear, afterId, Limit.of(pageSize)));
+        return slice(books, pageSize, book -> String.valueOf(book.bookYear()));
+    }
+
+    // The snapshot trails commits, so reads that must see the client's own writes go to the primary
+    private Optional<BookColumns> snapshot() {
+        return ReplicaRouting.isPinnedToPrimary() ? Optional.empty() : bookSnapshotService.current();
+    }
+
+    /**
+     * Case-sensitive title prefix, so it is a range scan of the title index.
+     */
+    public BookSlice getBooksByTitlePrefix(String prefix, String cursor, int size) {
+        if (prefix == null || prefix.isEmpty()) {
+            throw new InvalidRequestException("Title prefix is required");
+        }
+        BookCursor after = BookCursor.decode(cursor);
+        boolean resume = after != null && after.key().startsWith(prefix);
+        int pageSize = pageSize(size);
+        List<BookDTO> books = bookRepository.findDtosByTitleRange(
+                resume ? after.key() : prefix,
+                prefix + Character.MAX_VALUE,
+                resume ? after.id() : Integer.MIN_VALUE,
+                Limit.of(pageSize));
+        return slice(books, pageSize, BookDTO::bookTitle);
+    }
+
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    private static int parseYear(String year) {
+        try {
+            return Integer.parseInt(year);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid cursor year: " + year);
+        }
+    }
+
+    private static BookSlice slice(List<BookDTO> books, int pageSize, Function<BookDTO, String> sortKey) {
+        BookDTO last = books.size() < pageSize ? null : books.get(books.size() - 1);
+        return BookSlice.builder()
+                .books(books)
+                .nextCursor(last == null ? null : new BookCursor(sortKey.apply(last), last.id()).encode())
+                .build();
+    }
+
+    /**
+     * Changes after {@code since}, at most {@code limit} of them; {@code since}
+     * 0 pages through the whole catalogue. Read from the primary, where the
+     * watermark can be held behind writes still in flight.
+     */
+    public BookDelta getChangesSince(long since, int limit) {
+        if (since < 0) {
+            throw new InvalidRequestException("Watermark must be at least 0");
+        }
+        return ReplicaRouting.onPrimary(() -> bookRepository.findChangesSince(since, pageSize(limit)));
+    }
+
+    public void streamAllBooks(Consumer<BookDTO> consumer) {
+        bookRepository.streamAll(streamFetchSize, book -> consumer.accept(mapper.mapToDTO(book)));
     }
 
     public Optional<BookDTO> createBook(BookDTO bookDTO) {
-        return Optional.of(bookRepository.save(mapper.mapToEntity(bookDTO)))
-                .map(mapper::mapToDTO);
+        BookDTO createdBook = mapper.mapToDTO(bookRepository.save(mapper.mapToEntity(bookDTO)));
+        bookCache.put(createdBook);
+        eventPublisher.publishEvent(BookChangedEvent.created(createdBook));
+        return Optional.of(createdBook);
     }
 
     public Optional<BookDTO> updateBook(Integer id, BookDTO bookDTO) {
-        return bookRepository.findById(id)
-                .map(existingBook -> {
-                    existingBook.setBookAuthor(bookDTO.bookAuthor());
-                    existingBook.setBookTitle(bookDTO.bookTitle());
-                    existingBook.setBookYear(bookDTO.bookYear());
+        return updateBook(id, bookDTO, null);
+    }
+
+    /**
+     * Updates the book in one conditional statement if it is still at
+     * {@code expectedVersion}, or at any version when that is {@code null}.
+     * The response is built from the request; its version is only known when
+     * one was expected, otherwise the cached copy is evicted instead.
+     */
+    public Optional<BookDTO> updateBook(Integer id, BookDTO bookDTO, Long expectedVersion) {
+        if (bookRepository.updateIfVersion(id, mapper.mapToEntity(bookDTO), expectedVersion) == 0) {
+            checkNotFound(id, expectedVersion);
+            return Optional.empty();
+        }
 
-                    Book updatedBook = bookRepository.save(existingBook);
+        BookDTO updatedBookDTO = BookDTO.builder()
+                .id(id)
+                .bookTitle(bookDTO.bookTitle())
+                .bookAuthor(bookDTO.bookAuthor())
+                .bookYear(bookDTO.bookYear())
+                .version(expectedVersion == null ? null : expectedVersion + 1)
+                .build();
+        if (updatedBookDTO.version() == null) {
+            bookCache.evict(id);
+        } else {
+            bookCache.put(updatedBookDTO);
+        }
+        eventPublisher.publishEvent(BookChangedEvent.updated(updatedBookDTO));
+        return Optional.of(updatedBookDTO);
+    }
+
+    public boolean deleteBook(Integer id) {
+        return deleteBook(id, null);
+    }
 
-                    return mapper.mapToDTO(updatedBook);
-                });
+    public boolean deleteBook(Integer id, Long expectedVersion) {
+        if (bookRepository.deleteIfVersion(id, expectedVersion) == 0) {
+            checkNotFound(id, expectedVersion);
+            return false;
+        }
+        bookCache.evict(id);
+        eventPublisher.publishEvent(BookChangedEvent.deleted(id));
+        return true;
     }
 
-    public void deleteBook(Integer id) {
-        bookRepository.deleteById(id);
+    /**
+     * Nothing was changed: only when a version was expected is a second
+     * query needed to tell a missing book from a stale one.
+     */
+    private void checkNotFound(Integer id, Long expectedVersion) {
+        if (expectedVersion != null && bookRepository.existsById(id)) {
+            throw new PreconditionFailedException("Book Id With " + id + " is not at version " + expectedVersion);
+        }
     }
 }
@@ -0,0 +1,154 @@
+package com.example.Book.Store.Application.service;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.event.BookChangeType;
+import com.example.Book.Store.Application.event.BookChangedEvent;
+import com.example.Book.Store.Application.mapper.Mapper;
+import com.example.Book.Store.Application.model.Book;
+import com.example.Book.Store.Application.repository.BookRepository;
+import com.example.Book.Store.Application.snapshot.BookColumns;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a {@link BookColumns} snapshot of the Book table behind
+ * {@code book.snapshot.enabled}. The snapshot is loaded once the application
+ * is ready and then follows committed {@link BookChangedEvent}s. Events are
+ * queued by the committing thread and applied in order on a background
+ * thread, all that are waiting in one patch, so a burst of changes copies the
+ * columns once and no request pays for it; changes that commit during the
+ * initial load are applied on top of it. Like a replica, the snapshot trails
+ * commits by the time a patch takes.
+ * <p>
+ * Readers take the current snapshot without locking; there is none until the
+ * load has finished, or after a patch fails. Each snapshot is published with
+ * its own version, so an ETag taken from it always matches the rows it holds.
+ */
+@Log4j2
+@Service
+public class BookSnapshotService implements MeterBinder {
+    private final Mapper<Book, BookDTO> mapper;
+    private final BookRepository bookRepository;
+    private final boolean enabled;
+    private final int streamFetchSize;
+    private final long epoch = System.currentTimeMillis();
+    private final Queue<BookChangedEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean applying = new AtomicBoolean();
+    private long generation;
+    private volatile boolean failed;
+    private volatile BookColumns snapshot;
+
+    public BookSnapshotService(Mapper<Book, BookDTO> mapper,
+                               BookRepository bookRepository,
+                               @Value("${book.snapshot.enabled:false}") boolean enabled,
+                               @Value("${book.stream.fetch-size:500}") int streamFetchSize) {
+        this.mapper = mapper;
+        this.bookRepository = bookRepository;
+        this.enabled = enabled;
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    public Optional<BookColumns> current() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<BookDTO> books = new ArrayList<>();
+        bookRepository.streamAll(streamFetchSize, book -> books.add(mapper.mapToDTO(book)));
+        BookColumns loaded = BookColumns.of(books, nextVersion());
+        snapshot = loaded;
+        requestApply();
+        log.info("Catalogue snapshot loaded {} books in {} ms", loaded.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (!enabled || failed) {
+            return;
+        }
+        pending.add(event);
+        if (snapshot != null) {
+            requestApply();
+        }
+    }
+
+    private void requestApply() {
+        if (applying.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("book-snapshot-patch").start(this::applyLoop);
+        }
+    }
+
+    private void applyLoop() {
+        try {
+            while (snapshot != null && !pending.isEmpty()) {
+                Map<Integer, BookDTO> changes = new HashMap<>();
+                BookChangedEvent event;
+                while ((event = pending.poll()) != null) {
+                    changes.put(event.id(), event.type() == BookChangeType.DELETED ? null : event.book());
+                }
+                snapshot = snapshot.patch(changes, nextVersion());
+            }
+        } catch (RuntimeException e) {
+            // Readers fall back to the database rather than read a snapshot missing a change
+            failed = true;
+            snapshot = null;
+            pending.clear();
+            log.error("Catalogue snapshot patch failed, serving from the database until restart", e);
+        } finally {
+            applying.set(false);
+        }
+        // An event queued after the last drain but before the flag cleared would otherwise wait for the next write
+        if (snapshot != null && !pending.isEmpty()) {
+            requestApply();
+        }
+    }
+
+    // Only called by the loader, before any patch is requested, and then by the single patching thread
+    private String nextVersion() {
+        return "s" + epoch + "-" + generation++;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("book.snapshot.size", this, service -> service.current().map(BookColumns::size).orElse(0))
+                .description("Books in the catalogue snapshot")
+                .register(registry);
+        Gauge.builder("book.snapshot.dictionary.size", this,
+                        service -> service.current().map(BookColumns::titleDictionarySize).orElse(0))
+                .description("Distinct strings in a catalogue snapshot dictionary")
+                .tag("column", "title")
+                .register(registry);
+        Gauge.builder("book.snapshot.dictionary.size", this,
+                        service -> service.current().map(BookColumns::authorDictionarySize).orElse(0))
+                .description("Distinct strings in a catalogue snapshot dictionary")
+                .tag("column", "author")
+                .register(registry);
+        Gauge.builder("book.snapshot.pending", pending, Queue::size)
+                .description("Committed book changes waiting to be applied to the catalogue snapshot")
+                .register(registry);
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.Book.Store.Application.service;
+
+import com.example.Book.Store.Application.cache.CatalogueVersion;
+import com.example.Book.Store.Application.config.ReplicaRouting;
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.event.BookChangedEvent;
+import com.example.Book.Store.Application.snapshot.BookColumns;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON of the full catalogue listing, and a gzipped copy, keyed by
+ * {@link BookService#getListingVersion} behind {@code book.response-cache.enabled}.
+ * An entry is only served while its version is current, so a committed write
+ * makes it unusable once the listing moves on; the write also schedules a
+ * rebuild. The entry is kept until then, since the catalogue snapshot can
+ * still be at its version, and a rebuild that finds it current does nothing.
+ * <p>
+ * Rebuilds are single-flight: one runs at a time on a background thread,
+ * {@code rebuild-delay} after it is requested so a burst of writes settles
+ * first, and requests made while it runs are folded into one more rebuild.
+ * Readers never build; a miss falls back to the normal response path. A
+ * rebuild takes the listing and its version from one catalogue snapshot when
+ * one is loaded, else reads the version and then the listing from the
+ * primary, so an entry holds at least its version. Listings larger than
+ * {@code max-bytes}, both copies together, are not kept, and their version
+ * is not rebuilt again.
+ */
+@Log4j2
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CatalogueResponseCache implements MeterBinder {
+    private final BookService bookService;
+    private final CatalogueVersion catalogueVersion;
+    private final BookSnapshotService bookSnapshotService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final Duration rebuildDelay;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder oversized = new LongAdder();
+    private volatile boolean stale;
+    private volatile Entry entry;
+    private volatile String oversizedVersion;
+    private volatile Timer rebuildTimer;
+
+    public CatalogueResponseCache(BookService bookService,
+                                  CatalogueVersion catalogueVersion,
+                                  BookSnapshotService bookSnapshotService,
+                                  ObjectMapper objectMapper,
+                                  @Value("${book.response-cache.enabled:false}") boolean enabled,
+                                  @Value("${book.response-cache.max-bytes:64MB}") DataSize maxBytes,
+                                  @Value("${book.response-cache.rebuild-delay:50ms}") Duration rebuildDelay) {
+        this.bookService = bookService;
+        this.catalogueVersion = catalogueVersion;
+        this.bookSnapshotService = bookSnapshotService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxBytes = maxBytes.toBytes();
+        this.rebuildDelay = rebuildDelay;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the cached listing when it was built at {@code version}; a miss
+     * requests a rebuild unless one is already running or {@code version} was
+     * found too large to cache
+     */
+    public Optional<Entry> get(String version) {
+        Entry current = entry;
+        if (current != null && current.version().equals(version)) {
+            hits.increment();
+            return Optional.of(current);
+        }
+        misses.increment();
+        if (!rebuilding.get() && !version.equals(oversizedVersion)) {
+            requestRebuild();
+        }
+        return Optional.empty();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            requestRebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        requestRebuild();
+    }
+
+    private void requestRebuild() {
+        stale = true;
+        if (rebuilding.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("book-response-cache-rebuild").start(this::rebuildLoop);
+        }
+    }
+
+    private void rebuildLoop() {
+        try {
+            while (stale) {
+                Thread.sleep(rebuildDelay);
+                stale = false;
+                rebuild();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Catalogue response cache rebuild failed", e);
+        } finally {
+            rebuilding.set(false);
+        }
+        // A request that lost the race with the loop exiting would otherwise wait for the next write or miss
+        if (stale) {
+            requestRebuild();
+        }
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        Optional<BookColumns> snapshot = bookSnapshotService.current();
+        // Read before loading, so a write committing meanwhile leaves this entry out of date rather than mislabelled
+        String version = snapshot.map(BookColumns::version).orElseGet(catalogueVersion::current);
+        Entry current = entry;
+        if (version.equals(oversizedVersion) || current != null && current.version().equals(version)) {
+            return;
+        }
+        List<BookDTO> books = snapshot.map(BookColumns::all)
+                .orElseGet(() -> ReplicaRouting.onPrimary(bookService::getAllBooks));
+        byte[] json;
+        byte[] gzip;
+        try {
+            json = objectMapper.writeValueAsBytes(books);
+            gzip = gzip(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (json.length + gzip.length > maxBytes) {
+            oversized.increment();
+            oversizedVersion = version;
+            entry = null;
+            log.warn("Catalogue listing of {} bytes ({} gzipped) exceeds book.response-cache.max-bytes, not cached",
+                    json.length, gzip.length);
+        } else {
+            entry = new Entry(version, json, gzip);
+        }
+        Timer timer = rebuildTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private int cachedBytes(Function<Entry, byte[]> copy) {
+        Entry current = entry;
+        return current == null ? 0 : copy.apply(current).length;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(32, bytes.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        FunctionCounter.builder("book.response-cache.gets", hits, LongAdder::sum)
+                .description("Catalogue listing requests by whether cached bytes were served")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("book.response-cache.gets", misses, LongAdder::sum)
+                .description("Catalogue listing requests by whether cached bytes were served")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("book.response-cache.oversized", oversized, LongAdder::sum)
+                .description("Catalogue listing rebuilds not kept because they exceeded max-bytes")
+                .register(registry);
+        Gauge.builder("book.response-cache.bytes", this, cache -> cache.cachedBytes(Entry::json))
+                .description("Bytes held by the cached catalogue listing")
+                .tag("encoding", "identity")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("book.response-cache.bytes", this, cache -> cache.cachedBytes(Entry::gzip))
+                .description("Bytes held by the cached catalogue listing")
+                .tag("encoding", "gzip")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("book.response-cache.max-bytes", this, cache -> cache.maxBytes)
+                .description("Largest catalogue listing, both copies together, that is cached")
+                .baseUnit("bytes")
+                .register(registry);
+        rebuildTimer = Timer.builder("book.response-cache.rebuild")
+                .description("Time to load, serialize and gzip the catalogue listing")
+                .register(registry);
+    }
+
+    public record Entry(String version, byte[] json, byte[] gzip) {
+    }
+}
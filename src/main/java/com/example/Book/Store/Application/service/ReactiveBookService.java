@@ -0,0 +1,185 @@
+package com.example.Book.Store.Application.service;
+
+import com.example.Book.Store.Application.cache.BookCache;
+import com.example.Book.Store.Application.cache.CatalogueVersion;
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.BookPage;
+import com.example.Book.Store.Application.event.BookChangedEvent;
+import com.example.Book.Store.Application.exception.InvalidRequestException;
+import com.example.Book.Store.Application.exception.PreconditionFailedException;
+import com.example.Book.Store.Application.mapper.Mapper;
+import com.example.Book.Store.Application.model.Book;
+import com.example.Book.Store.Application.repository.ReactiveBookRepository;
+import com.example.Book.Store.Application.util.BookIds;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link BookService} over R2DBC. It shares the
+ * {@link BookCache} and publishes the same {@link BookChangedEvent}s, so both
+ * stacks keep the cache, search index and catalogue version coherent.
+ * <p>
+ * Cache misses go through {@link BookCache#lookup}, so they are collapsed
+ * with loads from either stack and subscribers wait on the load's future
+ * instead of blocking the event loop. A read that races an update or delete
+ * is discarded by the eviction rather than cached.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveBookService {
+    private final Mapper<Book, BookDTO> mapper;
+    private final ReactiveBookRepository bookRepository;
+    private final BookCache bookCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogueVersion catalogueVersion;
+
+    @Value("${book.multi-get.max-ids:1000}")
+    private int maxMultiGetIds;
+
+    @Value("${book.multi-get.chunk-size:100}")
+    private int multiGetChunkSize;
+
+    @Value("${book.multi-get.parallelism:4}")
+    private int multiGetParallelism;
+
+    @Value("${book.page.max-size:1000}")
+    private int maxPageSize;
+
+    public Mono<BookDTO> getBookById(Integer id) {
+        return Mono.defer(() -> {
+            BookCache.Lookup lookup = bookCache.lookup(id);
+            if (lookup.owner()) {
+                // Not tied to this subscriber, so cancelling it does not fail others waiting on the load
+                CompletableFuture<BookDTO> pending = lookup.future();
+                bookRepository.findById(id)
+                        .map(mapper::mapToDTO)
+                        .subscribe(pending::complete, pending::completeExceptionally, () -> pending.complete(null));
+            }
+            return Mono.fromFuture(lookup.future(), true);
+        });
+    }
+
+    public Mono<List<BookDTO>> getBookByIds(List<Integer> ids) {
+        int[] distinctIds = BookIds.distinct(ids);
+        if (distinctIds.length > maxMultiGetIds) {
+            return Mono.error(new InvalidRequestException("Too many ids: " + distinctIds.length + ", maximum is " + maxMultiGetIds));
+        }
+
+        return Mono.defer(() -> {
+            Map<Integer, BookDTO> foundBooks = new HashMap<>(distinctIds.length * 2);
+            List<Integer> uncachedIds = new ArrayList<>();
+            for (int id : distinctIds) {
+                bookCache.getIfPresent(id).ifPresentOrElse(
+                        bookDTO -> foundBooks.put(id, bookDTO),
+                        () -> uncachedIds.add(id));
+            }
+            return Flux.range(0, (uncachedIds.size() + multiGetChunkSize - 1) / multiGetChunkSize)
+                    .map(chunk -> uncachedIds.subList(chunk * multiGetChunkSize,
+                            Math.min((chunk + 1) * multiGetChunkSize, uncachedIds.size())))
+                    .flatMap(bookRepository::findAllById, multiGetParallelism)
+                    .map(mapper::mapToDTO)
+                    .collectMap(BookDTO::id, bookDTO -> bookDTO, () -> foundBooks)
+                    .map(books -> {
+                        List<BookDTO> bookDTOList = new ArrayList<>(books.size());
+                        for (int id : distinctIds) {
+                            BookDTO bookDTO = books.get(id);
+                            if (bookDTO != null) {
+                                bookDTOList.add(bookDTO);
+                            }
+                        }
+                        return bookDTOList;
+                    });
+        });
+    }
+
+    public String getCatalogueVersion() {
+        return catalogueVersion.current();
+    }
+
+    /**
+     * Rows are read as the subscriber requests them, so a slow client slows
+     * the query down instead of the catalogue piling up in memory.
+     */
+    public Flux<BookDTO> getAllBooks() {
+        return bookRepository.findAll().map(mapper::mapToDTO);
+    }
+
+    public Mono<BookPage> getBookPage(Integer after, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        return bookRepository.findByIdGreaterThanOrderByIdAsc(after, pageSize)
+                .map(mapper::mapToDTO)
+                .collectList()
+                .map(books -> BookPage.builder()
+                        .books(books)
+                        .nextCursor(books.size() < pageSize ? null : books.get(books.size() - 1).id())
+                        .build());
+    }
+
+    public Mono<BookDTO> createBook(BookDTO bookDTO) {
+        return bookRepository.insert(mapper.mapToEntity(bookDTO))
+                .map(mapper::mapToDTO)
+                .doOnNext(createdBook -> {
+                    bookCache.put(createdBook);
+                    eventPublisher.publishEvent(BookChangedEvent.created(createdBook));
+                });
+    }
+
+    /**
+     * Same contract as {@link BookService#updateBook(Integer, BookDTO, Long)}:
+     * empty when the book is missing, {@link PreconditionFailedException}
+     * when it is not at {@code expectedVersion}.
+     */
+    public Mono<BookDTO> updateBook(Integer id, BookDTO bookDTO, Long expectedVersion) {
+        return bookRepository.updateIfVersion(id, mapper.mapToEntity(bookDTO), expectedVersion)
+                .flatMap(updated -> updated == 0
+                        ? checkNotFound(id, expectedVersion).then(Mono.<BookDTO>empty())
+                        : Mono.fromSupplier(() -> {
+                            BookDTO updatedBookDTO = BookDTO.builder()
+                                    .id(id)
+                                    .bookTitle(bookDTO.bookTitle())
+                                    .bookAuthor(bookDTO.bookAuthor())
+                                    .bookYear(bookDTO.bookYear())
+                                    .version(expectedVersion == null ? null : expectedVersion + 1)
+                                    .build();
+                            if (updatedBookDTO.version() == null) {
+                                bookCache.evict(id);
+                            } else {
+                                bookCache.put(updatedBookDTO);
+                            }
+                            eventPublisher.publishEvent(BookChangedEvent.updated(updatedBookDTO));
+                            return updatedBookDTO;
+                        }));
+    }
+
+    public Mono<Boolean> deleteBook(Integer id, Long expectedVersion) {
+        return bookRepository.deleteIfVersion(id, expectedVersion)
+                .flatMap(deleted -> {
+                    if (deleted == 0) {
+                        return checkNotFound(id, expectedVersion).thenReturn(false);
+                    }
+                    bookCache.evict(id);
+                    eventPublisher.publishEvent(BookChangedEvent.deleted(id));
+                    return Mono.just(true);
+                });
+    }
+
+    private Mono<Void> checkNotFound(Integer id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.empty();
+        }
+        return bookRepository.existsById(id)
+                .flatMap(exists -> exists
+                        ? Mono.error(new PreconditionFailedException("Book Id With " + id + " is not at version " + expectedVersion))
+                        : Mono.empty());
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.Book.Store.Application.snapshot;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, column-wise copy of the catalogue. Rows are ordered by id; id,
+ * year and version are primitive arrays and title and author are codes into
+ * {@link StringDictionary}s shared between successive snapshots. Two
+ * grouped indexes, by year and by author code, list row numbers in
+ * (year, id) and (author, id) order so filtered pages are read without
+ * scanning.
+ * <p>
+ * Changes produce a new instance with {@link #patch}; readers keep using the
+ * instance they hold and never lock. Each instance carries the version it is
+ * published under, so a tag always names exactly the rows read with it.
+ * Dictionaries only grow, so when they hold more than twice the live strings
+ * a patch re-encodes from scratch.
+ */
+public final class BookColumns {
+    private static final int NULL_YEAR = Integer.MIN_VALUE;
+    private static final long NULL_VERSION = Long.MIN_VALUE;
+    private static final int COMPACT_SLACK = 1024;
+
+    private final String version;
+    private final int size;
+    private final int[] ids;
+    private final int[] years;
+    private final int[] titleCodes;
+    private final int[] authorCodes;
+    private final long[] versions;
+    private final StringDictionary titleDictionary;
+    private final StringDictionary authorDictionary;
+    private final String[] titles;
+    private final String[] authors;
+    private final int authorCount;
+    private final int[] yearValues;
+    private final int[] yearStarts;
+    private final int[] yearRows;
+    private final int[] authorStarts;
+    private final int[] authorRows;
+
+    private BookColumns(String version, int size, int[] ids, int[] years, int[] titleCodes, int[] authorCodes, long[] versions,
+                        StringDictionary titleDictionary, StringDictionary authorDictionary) {
+        this.version = version;
+        this.size = size;
+        this.ids = ids;
+        this.years = years;
+        this.titleCodes = titleCodes;
+        this.authorCodes = authorCodes;
+        this.versions = versions;
+        this.titleDictionary = titleDictionary;
+        this.authorDictionary = authorDictionary;
+        this.titles = titleDictionary.values();
+        this.authors = authorDictionary.values();
+        this.authorCount = authorDictionary.size();
+
+        this.yearValues = distinctYears(years, size);
+        this.yearStarts = new int[yearValues.length + 1];
+        this.yearRows = new int[size];
+        int[] yearSlots = new int[size];
+        for (int row = 0; row < size; row++) {
+            yearSlots[row] = years[row] == NULL_YEAR ? -1 : Arrays.binarySearch(yearValues, years[row]);
+        }
+        group(yearSlots, size, yearStarts, yearRows);
+
+        this.authorStarts = new int[authorCount + 1];
+        this.authorRows = new int[size];
+        group(authorCodes, size, authorStarts, authorRows);
+    }
+
+    public static BookColumns of(List<BookDTO> books, String version) {
+        List<BookDTO> sorted = new ArrayList<>(books);
+        sorted.sort(Comparator.comparing(BookDTO::id));
+        int size = sorted.size();
+        int[] ids = new int[size];
+        int[] years = new int[size];
+        int[] titleCodes = new int[size];
+        int[] authorCodes = new int[size];
+        long[] versions = new long[size];
+        StringDictionary titleDictionary = new StringDictionary();
+        StringDictionary authorDictionary = new StringDictionary();
+        for (int row = 0; row < size; row++) {
+            BookDTO book = sorted.get(row);
+            ids[row] = book.id();
+            years[row] = book.bookYear() == null ? NULL_YEAR : book.bookYear();
+            titleCodes[row] = titleDictionary.encode(book.bookTitle());
+            authorCodes[row] = authorDictionary.encode(book.bookAuthor());
+            versions[row] = book.version() == null ? NULL_VERSION : book.version();
+        }
+        return new BookColumns(version, size, ids, years, titleCodes, authorCodes, versions,
+                titleDictionary, authorDictionary);
+    }
+
+    /**
+     * Must be called by one thread at a time across all snapshots sharing
+     * these dictionaries.
+     *
+     * @param changes the book after each change by id, {@code null} for a deletion
+     * @param version the version of the patched snapshot
+     */
+    public BookColumns patch(Map<Integer, BookDTO> changes, String version) {
+        int[] changedIds = changes.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int capacity = size + changedIds.length;
+        int[] newIds = new int[capacity];
+        int[] newYears = new int[capacity];
+        int[] newTitleCodes = new int[capacity];
+        int[] newAuthorCodes = new int[capacity];
+        long[] newVersions = new long[capacity];
+
+        int newSize = 0;
+        int row = 0;
+        int change = 0;
+        while (row < size || change < changedIds.length) {
+            if (change == changedIds.length || (row < size && ids[row] < changedIds[change])) {
+                newIds[newSize] = ids[row];
+                newYears[newSize] = years[row];
+                newTitleCodes[newSize] = titleCodes[row];
+                newAuthorCodes[newSize] = authorCodes[row];
+                newVersions[newSize] = versions[row];
+                newSize++;
+                row++;
+                continue;
+            }
+            if (row < size && ids[row] == changedIds[change]) {
+                row++;
+            }
+            BookDTO book = changes.get(changedIds[change++]);
+            if (book != null) {
+                newIds[newSize] = book.id();
+                newYears[newSize] = book.bookYear() == null ? NULL_YEAR : book.bookYear();
+                newTitleCodes[newSize] = titleDictionary.encode(book.bookTitle());
+                newAuthorCodes[newSize] = authorDictionary.encode(book.bookAuthor());
+                newVersions[newSize] = book.version() == null ? NULL_VERSION : book.version();
+                newSize++;
+            }
+        }
+
+        BookColumns patched = new BookColumns(version, newSize, newIds, newYears, newTitleCodes, newAuthorCodes, newVersions,
+                titleDictionary, authorDictionary);
+        if (titleDictionary.size() > 2 * newSize + COMPACT_SLACK
+                || authorDictionary.size() > 2 * newSize + COMPACT_SLACK) {
+            return of(patched.all(), version);
+        }
+        return patched;
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int titleDictionarySize() {
+        return titleDictionary.size();
+    }
+
+    public int authorDictionarySize() {
+        return authorCount;
+    }
+
+    public List<BookDTO> all() {
+        List<BookDTO> books = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            books.add(book(row));
+        }
+        return books;
+    }
+
+    /**
+     * Same page as {@code BookRepository.findDtosByAuthor}: books by
+     * {@code author} with an id above {@code afterId}, by id.
+     */
+    public List<BookDTO> byAuthor(String author, int afterId, int limit) {
+        int code = authorDictionary.code(author, authorCount);
+        if (code == StringDictionary.NULL_CODE) {
+            return List.of();
+        }
+        List<BookDTO> books = new ArrayList<>(Math.min(limit, authorStarts[code + 1] - authorStarts[code]));
+        for (int i = firstAfter(authorRows, authorStarts[code], authorStarts[code + 1], afterId);
+             i < authorStarts[code + 1] && books.size() < limit; i++) {
+            books.add(book(authorRows[i]));
+        }
+        return books;
+    }
+
+    /**
+     * Same page as {@code BookRepository.findDtosByYearRange}: books of
+     * {@code fromYear..toYear} by year and id, where those of
+     * {@code fromYear} itself start after {@code afterId}.
+     */
+    public List<BookDTO> byYearRange(int fromYear, int toYear, int afterId, int limit) {
+        List<BookDTO> books = new ArrayList<>();
+        int slot = Arrays.binarySearch(yearValues, fromYear);
+        int i;
+        if (slot >= 0) {
+            i = firstAfter(yearRows, yearStarts[slot], yearStarts[slot + 1], afterId);
+        } else {
+            slot = -slot - 1;
+            i = yearStarts[slot];
+        }
+        for (; slot < yearValues.length && yearValues[slot] <= toYear && books.size() < limit; slot++) {
+            for (i = Math.max(i, yearStarts[slot]); i < yearStarts[slot + 1] && books.size() < limit; i++) {
+                books.add(book(yearRows[i]));
+            }
+        }
+        return books;
+    }
+
+    private BookDTO book(int row) {
+        return new BookDTO(
+                ids[row],
+                titleCodes[row] == StringDictionary.NULL_CODE ? null : titles[titleCodes[row]],
+                authorCodes[row] == StringDictionary.NULL_CODE ? null : authors[authorCodes[row]],
+                years[row] == NULL_YEAR ? null : years[row],
+                versions[row] == NULL_VERSION ? null : versions[row]);
+    }
+
+    /**
+     * @return the first position in {@code rows[from, to)} whose id is above {@code afterId}
+     */
+    private int firstAfter(int[] rows, int from, int to, int afterId) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[rows[mid]] <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Counting sort of row numbers by group, keeping id order within a group.
+     * Rows in group -1 are left out.
+     */
+    private static void group(int[] groups, int size, int[] starts, int[] rows) {
+        for (int row = 0; row < size; row++) {
+            if (groups[row] >= 0) {
+                starts[groups[row] + 1]++;
+            }
+        }
+        for (int g = 1; g < starts.length; g++) {
+            starts[g] += starts[g - 1];
+        }
+        int[] next = Arrays.copyOf(starts, starts.length - 1);
+        for (int row = 0; row < size; row++) {
+            if (groups[row] >= 0) {
+                rows[next[groups[row]]++] = row;
+            }
+        }
+    }
+
+    private static int[] distinctYears(int[] years, int size) {
+        int[] sorted = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (years[row] != NULL_YEAR) {
+                sorted[count++] = years[row];
+            }
+        }
+        Arrays.sort(sorted, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || sorted[i] != sorted[distinct - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, distinct);
+    }
+}
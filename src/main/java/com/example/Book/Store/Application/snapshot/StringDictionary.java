@@ -0,0 +1,50 @@
+package com.example.Book.Store.Application.snapshot;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only dictionary handing out dense int codes for strings. Writers are
+ * serialized by the caller. A reader holding a {@link BookColumns} only looks
+ * at codes below the size captured with it, so entries appended later, even
+ * into the same array, are never seen half-written.
+ */
+final class StringDictionary {
+    static final int NULL_CODE = -1;
+
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private String[] values = new String[16];
+    private int size;
+
+    int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        codes.put(value, size);
+        return size++;
+    }
+
+    /**
+     * @return the code of {@code value}, or {@link #NULL_CODE} when it has none below {@code limit}
+     */
+    int code(String value, int limit) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null || code >= limit ? NULL_CODE : code;
+    }
+
+    String[] values() {
+        return values;
+    }
+
+    int size() {
+        return size;
+    }
+}
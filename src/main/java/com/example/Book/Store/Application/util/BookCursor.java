@@ -0,0 +1,35 @@
+package com.example.Book.Store.Application.util;
+
+import com.example.Book.Store.Application.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position of a filtered page: the sort key and id of its last book,
+ * handed to clients as an opaque URL-safe string.
+ */
+public record BookCursor(String key, int id) {
+    private static final char SEPARATOR = '\n';
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or {@code null} for the first page
+     */
+    public static BookCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return new BookCursor(decoded.substring(0, separator), Integer.parseInt(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.Book.Store.Application.util;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.exception.PreconditionFailedException;
+
+import java.util.List;
+
+/**
+ * Entity tags derived from the book row version. A single book is tagged
+ * strongly {@code "<id>-<version>"}, which {@code If-Match} relies on; lists
+ * are tagged weakly with the catalogue version or a hash over the id and
+ * version of every book in them. Tomcat does not compress responses with a
+ * strong tag, and list bodies are the ones worth compressing. The catalogue
+ * listing the application gzips itself is tagged apart from the identity
+ * bytes, as they are a different representation.
+ */
+public final class BookETags {
+    private BookETags() {
+    }
+
+    public static String of(BookDTO bookDTO) {
+        return "\"" + bookDTO.id() + "-" + bookDTO.version() + "\"";
+    }
+
+    public static String ofCatalogue(String catalogueVersion) {
+        return "W/\"catalogue-" + catalogueVersion + "\"";
+    }
+
+    public static String ofCatalogueGzip(String catalogueVersion) {
+        return "W/\"catalogue-" + catalogueVersion + "-gzip\"";
+    }
+
+    public static String ofList(List<BookDTO> bookDTOs) {
+        long hash = 1125899906842597L;
+        for (BookDTO bookDTO : bookDTOs) {
+            hash = 31 * hash + bookDTO.id();
+            hash = 31 * hash + (bookDTO.version() == null ? 0 : bookDTO.version());
+        }
+        return "W/\"list-" + bookDTOs.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Returns the version an {@code If-Match} header requires for the book,
+     * or {@code null} when there is no header or it is {@code *}. The first
+     * tag naming this id is used; weak tags never match.
+     */
+    public static Long expectedVersion(String ifMatch, Integer id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.startsWith(prefix) && trimmed.endsWith("\"") && trimmed.length() > prefix.length() + 1) {
+                try {
+                    return Long.parseLong(trimmed.substring(prefix.length(), trimmed.length() - 1));
+                } catch (NumberFormatException e) {
+                    break;
+                }
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + ifMatch + " does not match book " + id);
+    }
+}
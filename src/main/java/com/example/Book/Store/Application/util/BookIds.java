@@ -0,0 +1,44 @@
+package com.example.Book.Store.Application.util;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class BookIds {
+    private BookIds() {
+    }
+
+    /**
+     * @return the non-null ids in order of first occurrence, without duplicates
+     */
+    public static int[] distinct(List<Integer> ids) {
+        IntHashSet seen = new IntHashSet(ids.size());
+        int[] distinctIds = new int[ids.size()];
+        int count = 0;
+        for (Integer id : ids) {
+            if (id != null && seen.add(id)) {
+                distinctIds[count++] = id;
+            }
+        }
+        return count == distinctIds.length ? distinctIds : Arrays.copyOf(distinctIds, count);
+    }
+
+    /**
+     * @return the requested ids that are not in {@code found}, in request order and without duplicates
+     */
+    public static List<Integer> missing(List<Integer> requestedIds, List<BookDTO> found) {
+        IntHashSet foundIds = new IntHashSet(found.size());
+        for (BookDTO bookDTO : found) {
+            foundIds.add(bookDTO.id());
+        }
+        List<Integer> missingIds = new ArrayList<>();
+        for (int id : distinct(requestedIds)) {
+            if (!foundIds.contains(id)) {
+                missingIds.add(id);
+            }
+        }
+        return missingIds;
+    }
+}
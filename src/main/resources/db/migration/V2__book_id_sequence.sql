@@ -0,0 +1,3 @@
+ALTER TABLE Book ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE book_seq START WITH 100 INCREMENT BY 50;
@@ -0,0 +1 @@
+ALTER TABLE Book ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
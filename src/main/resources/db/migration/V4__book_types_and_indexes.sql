@@ -0,0 +1,21 @@
+-- book_year becomes a number so year ranges compare numerically and can use an index;
+-- book_author loses its UNIQUE constraint, an author can have many books.
+CREATE TABLE Book_v4
+(
+    id             INT PRIMARY KEY,
+    book_title     VARCHAR(50)           NOT NULL,
+    book_author    VARCHAR(50)           NOT NULL,
+    book_year      INT                   NOT NULL,
+    version        BIGINT DEFAULT 0      NOT NULL
+);
+
+INSERT INTO Book_v4(id, book_title, book_author, book_year, version)
+SELECT id, book_title, book_author, CAST(TRIM(book_year) AS INT), version FROM Book;
+
+DROP TABLE Book;
+ALTER TABLE Book_v4 RENAME TO Book;
+
+-- id is the tie-breaker of every keyset page, so each index is ordered by it too
+CREATE INDEX book_author_idx ON Book(book_author, id);
+CREATE INDEX book_title_idx ON Book(book_title, id);
+CREATE INDEX book_year_idx ON Book(book_year, id);
@@ -0,0 +1,17 @@
+-- Every insert and update takes the next change_seq, so "changed since" is an index range scan;
+-- deletes leave a tombstone numbered from the same sequence.
+CREATE SEQUENCE book_change_seq;
+
+ALTER TABLE Book ADD COLUMN change_seq BIGINT;
+UPDATE Book SET change_seq = NEXT VALUE FOR book_change_seq;
+ALTER TABLE Book ALTER COLUMN change_seq SET NOT NULL;
+ALTER TABLE Book ALTER COLUMN change_seq SET DEFAULT NEXT VALUE FOR book_change_seq;
+ALTER TABLE Book ALTER COLUMN change_seq SET ON UPDATE NEXT VALUE FOR book_change_seq;
+CREATE INDEX book_change_seq_idx ON Book(change_seq);
+
+CREATE TABLE book_tombstone
+(
+    id             INT PRIMARY KEY,
+    change_seq     BIGINT DEFAULT NEXT VALUE FOR book_change_seq NOT NULL
+);
+CREATE INDEX book_tombstone_change_seq_idx ON book_tombstone(change_seq);
@@ -0,0 +1,124 @@
+package com.example.Book.Store.Application.cache;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.mock.MockBook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookCacheTest {
+    private final BookCache bookCache = new BookCache(100, 300);
+
+    @Test
+    @DisplayName("Given: concurrent misses for same id, When: get, Then: loader is called once")
+    void getCoalescesConcurrentMisses() throws Exception {
+        BookDTO bookDTO = MockBook.mockBookDTO(1, "Title", "Author", 2024);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<BookDTO>> first = executor.submit(() -> bookCache.get(1, id -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return Optional.of(bookDTO);
+            }));
+            loaderStarted.await(5, TimeUnit.SECONDS);
+            Future<Optional<BookDTO>> second = executor.submit(() -> bookCache.get(1, id -> {
+                loads.incrementAndGet();
+                return Optional.of(bookDTO);
+            }));
+            releaseLoader.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).contains(bookDTO);
+            assertThat(second.get(5, TimeUnit.SECONDS)).contains(bookDTO);
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Given: id not found, When: get, Then: empty result is not cached")
+    void getDoesNotCacheMissingId() {
+        bookCache.get(999, id -> Optional.empty());
+
+        assertThat(bookCache.stats().missCount()).isEqualTo(1);
+        assertThat(bookCache.nativeCache().asMap()).doesNotContainKey(999);
+    }
+
+    @Test
+    @DisplayName("Given: loader fails, When: get, Then: exception is rethrown and next get loads again")
+    void getRethrowsLoaderFailure() {
+        BookDTO bookDTO = MockBook.mockBookDTO(2, "Title", "Author", 2024);
+
+        assertThatThrownBy(() -> bookCache.get(2, id -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("database down");
+
+        assertThat(bookCache.get(2, id -> Optional.of(bookDTO))).contains(bookDTO);
+    }
+
+    @Test
+    @DisplayName("Given: miss, When: get, Then: loader runs on the calling thread")
+    void getLoadsOnCallingThread() {
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> loaderThread = new AtomicReference<>();
+
+        bookCache.get(3, id -> {
+            loaderThread.set(Thread.currentThread());
+            return Optional.empty();
+        });
+
+        assertThat(loaderThread).hasValue(caller);
+    }
+
+    @Test
+    @DisplayName("Given: lookup in flight, When: second lookup, getIfPresent and completion, Then: one owner and no blocking before the value lands")
+    void lookupSharesLoadWithoutBlocking() {
+        BookDTO bookDTO = MockBook.mockBookDTO(4, "Title", "Author", 2024);
+
+        BookCache.Lookup first = bookCache.lookup(4);
+        BookCache.Lookup second = bookCache.lookup(4);
+        assertThat(first.owner()).isTrue();
+        assertThat(second.owner()).isFalse();
+        assertThat(bookCache.getIfPresent(4)).isEmpty();
+
+        first.future().complete(bookDTO);
+
+        assertThat(second.future()).isCompletedWithValue(bookDTO);
+        assertThat(bookCache.getIfPresent(4)).contains(bookDTO);
+    }
+
+    @Test
+    @DisplayName("Given: lookup in flight, When: evicted before the read completes, Then: the stale read is not cached")
+    void lookupEvictedWhileLoadingIsDiscarded() {
+        BookCache.Lookup lookup = bookCache.lookup(5);
+
+        bookCache.evict(5);
+        lookup.future().complete(MockBook.mockBookDTO(5, "Stale Title", "Author", 2024));
+
+        assertThat(bookCache.getIfPresent(5)).isEmpty();
+        assertThat(bookCache.lookup(5).owner()).isTrue();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.Book.Store.Application.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionFilterTest {
+
+    @Test
+    @DisplayName("Given: client's bucket is empty, When: another list request arrives, Then: 429 with Retry-After")
+    void rejectsOverRate() throws Exception {
+        AdmissionFilter filter = filter(Map.of(EndpointClass.LIST, new AdmissionProperties.Limits(1, 2, 4, 1, 0)));
+
+        assertThat(perform(filter, "GET", "/api/book/all", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "GET", "/api/book/all", "10.0.0.1").getStatus()).isEqualTo(200);
+        MockHttpServletResponse rejected = perform(filter, "GET", "/api/book/all", "10.0.0.1");
+
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(perform(filter, "GET", "/api/book/all", "10.0.0.2").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "GET", "/api/book/1", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Given: list class at its concurrency limit, When: another list request arrives, Then: 503 with Retry-After")
+    void rejectsOverConcurrency() throws Exception {
+        AdmissionFilter filter = filter(Map.of(EndpointClass.LIST, new AdmissionProperties.Limits(100, 100, 1, 1, 1)));
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/book/page", "10.0.0.1"), outer, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                try {
+                    nested[0] = perform(filter, "GET", "/api/book/page", "10.0.0.2");
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+
+        assertThat(outer.getStatus()).isEqualTo(200);
+        assertThat(nested[0].getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(nested[0].getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(perform(filter, "GET", "/api/book/page", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Given: rejected requests, When: metrics are bound, Then: rejections and limits are reported per class")
+    void reportsMetrics() throws Exception {
+        AdmissionFilter filter = filter(Map.of(EndpointClass.BULK, new AdmissionProperties.Limits(1, 1, 2, 1, 4)));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+
+        perform(filter, "POST", "/api/book/bulk", "10.0.0.1");
+        perform(filter, "POST", "/api/book/bulk", "10.0.0.1");
+
+        assertThat(registry.get("book.admission.rejected").tags("class", "bulk", "reason", "rate")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("book.admission.limit").tag("class", "bulk").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("book.admission.inflight").tag("class", "bulk").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Given: request paths and methods, When: classified, Then: each maps to its endpoint class")
+    void classifiesEndpoints() {
+        assertThat(EndpointClass.of(request("GET", "/api/book/1", null))).isEqualTo(EndpointClass.LOOKUP);
+        assertThat(EndpointClass.of(request("GET", "/api/book", null))).isEqualTo(EndpointClass.LOOKUP);
+        assertThat(EndpointClass.of(request("GET", "/api/book/search", null))).isEqualTo(EndpointClass.LOOKUP);
+        assertThat(EndpointClass.of(request("GET", "/api/book/all", null))).isEqualTo(EndpointClass.LIST);
+        assertThat(EndpointClass.of(request("PUT", "/api/book/1", null))).isEqualTo(EndpointClass.WRITE);
+        assertThat(EndpointClass.of(request("POST", "/api/book/bulk/import", null))).isEqualTo(EndpointClass.BULK);
+        assertThat(EndpointClass.of(request("GET", "/api/book/changes", null))).isEqualTo(EndpointClass.FEED);
+    }
+
+    private static AdmissionFilter filter(Map<EndpointClass, AdmissionProperties.Limits> classes) {
+        return new AdmissionFilter(new AdmissionProperties(
+                true, "", Duration.ofMinutes(10), 1000, Duration.ofSeconds(2), classes));
+    }
+
+    private static MockHttpServletResponse perform(AdmissionFilter filter, String method, String uri, String client)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, uri, client), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (client != null) {
+            request.setRemoteAddr(client);
+        }
+        return request;
+    }
+}
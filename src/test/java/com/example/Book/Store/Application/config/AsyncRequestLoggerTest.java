@@ -0,0 +1,49 @@
+package com.example.Book.Store.Application.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncRequestLoggerTest {
+
+    @Test
+    @DisplayName("Given: full queue, When: offer, Then: record is dropped and counted")
+    void offerDropsWhenFull() {
+        AsyncRequestLogger requestLogger = new AsyncRequestLogger(2, record -> {
+        });
+
+        assertThat(requestLogger.offer(mockRecord("/api/book/1"))).isTrue();
+        assertThat(requestLogger.offer(mockRecord("/api/book/2"))).isTrue();
+        assertThat(requestLogger.offer(mockRecord("/api/book/3"))).isFalse();
+
+        assertThat(requestLogger.queueSize()).isEqualTo(2);
+        assertThat(requestLogger.droppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given: queued records, When: stop, Then: records are written in order")
+    void stopDrainsQueue() {
+        List<String> written = new CopyOnWriteArrayList<>();
+        AsyncRequestLogger requestLogger = new AsyncRequestLogger(10, record -> written.add(record.requestUri()));
+        requestLogger.offer(mockRecord("/api/book/1"));
+        requestLogger.offer(mockRecord("/api/book/2"));
+
+        requestLogger.start();
+        requestLogger.stop();
+
+        assertThat(written).containsExactly("/api/book/1", "/api/book/2");
+        assertThat(requestLogger.queueSize()).isZero();
+    }
+
+    private static RequestLogRecord mockRecord(String requestUri) {
+        return RequestLogRecord.builder()
+                .method("GET")
+                .requestUri(requestUri)
+                .status(200)
+                .build();
+    }
+}
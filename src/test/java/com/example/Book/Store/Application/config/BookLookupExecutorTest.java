@@ -0,0 +1,38 @@
+package com.example.Book.Store.Application.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookLookupExecutorTest {
+    @Test
+    @DisplayName("Given: virtual threads enabled, When: submit, Then: lookup runs on a virtual thread")
+    void submitOnVirtualThread() throws Exception {
+        BookLookupExecutor executor = new BookLookupExecutor(2, 4, true);
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+            assertThat(thread.isVirtual()).isTrue();
+            assertThat(thread.getName()).startsWith("book-lookup-");
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Given: virtual threads disabled, When: submit, Then: lookup runs on a platform daemon thread")
+    void submitOnPlatformThread() throws Exception {
+        BookLookupExecutor executor = new BookLookupExecutor(2, 4, false);
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+            assertThat(thread.isVirtual()).isFalse();
+            assertThat(thread.isDaemon()).isTrue();
+        } finally {
+            executor.destroy();
+        }
+    }
+}
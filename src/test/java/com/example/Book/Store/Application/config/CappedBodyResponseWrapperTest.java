@@ -0,0 +1,53 @@
+package com.example.Book.Store.Application.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CappedBodyResponseWrapperTest {
+
+    @Test
+    @DisplayName("Given: sampled request, When: body exceeds cap, Then: full body is written and only cap is captured")
+    void capturesUpToCap() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CappedBodyResponseWrapper wrapper = new CappedBodyResponseWrapper(response, 4, true, System.nanoTime());
+
+        wrapper.getOutputStream().write("123456".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(response.getContentAsString()).isEqualTo("123456");
+        assertThat(new String(wrapper.getCapturedBody(), StandardCharsets.UTF_8)).isEqualTo("1234");
+        assertThat(wrapper.isBodyTruncated()).isTrue();
+        assertThat(wrapper.getResponseBytes()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Given: unsampled successful request, When: body is written, Then: nothing is captured")
+    void skipsUnsampledSuccess() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CappedBodyResponseWrapper wrapper = new CappedBodyResponseWrapper(response, 4, false, System.nanoTime());
+
+        wrapper.getOutputStream().write("123456".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(response.getContentAsString()).isEqualTo("123456");
+        assertThat(wrapper.shouldLogBody()).isFalse();
+        assertThat(wrapper.getCapturedBody()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given: unsampled error response, When: body is written, Then: body is captured")
+    void capturesErrors() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CappedBodyResponseWrapper wrapper = new CappedBodyResponseWrapper(response, 64, false, System.nanoTime());
+
+        wrapper.setStatus(404);
+        wrapper.getWriter().write("not found");
+        wrapper.flushWriter();
+
+        assertThat(wrapper.shouldLogBody()).isTrue();
+        assertThat(new String(wrapper.getCapturedBody(), StandardCharsets.UTF_8)).isEqualTo("not found");
+    }
+}
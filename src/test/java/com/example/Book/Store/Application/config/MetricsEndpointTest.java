@@ -0,0 +1,60 @@
+package com.example.Book.Store.Application.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsEndpointTest {
+    private static final String DURATION = "\\d+\\.\\d{3}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Given: existing book, When: GET /api/book/1, Then: Server-Timing has db, mapping, serialization and total")
+    void serverTimingHeader() throws Exception {
+        mockMvc.perform(get("/api/book/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTiming.HEADER, matchesPattern(
+                        "db;dur=" + DURATION + ", mapping;dur=" + DURATION
+                                + ", serialization;dur=" + DURATION + ", total;dur=" + DURATION)));
+    }
+
+    @Test
+    @DisplayName("Given: unknown book, When: GET /api/book/999999, Then: error response also has Server-Timing")
+    void serverTimingHeaderOnError() throws Exception {
+        mockMvc.perform(get("/api/book/999999"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(ServerTiming.HEADER, containsString("total;dur=")));
+    }
+
+    @Test
+    @DisplayName("Given: served requests, When: GET /actuator/prometheus, Then: endpoint histograms, Hibernate and pool metrics")
+    void prometheusScrape() throws Exception {
+        mockMvc.perform(get("/api/book/1")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/api/book/{id}\"")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("hibernate_entities_loads_total")))
+                .andExpect(content().string(containsString("hibernate_flushes_total")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.Book.Store.Application.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaPoolDataSourceTest {
+    private final DataSource primary = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+
+    @Test
+    @DisplayName("Given: one replica fails its health check, When: getConnection, Then: only the healthy replica is used")
+    void skipsUnhealthyReplica() throws SQLException {
+        Connection healthyConnection = validConnection(true);
+        HikariDataSource healthy = replica(healthyConnection);
+        HikariDataSource unhealthy = replica(validConnection(false));
+        ReplicaPoolDataSource pool = new ReplicaPoolDataSource(primary, List.of(unhealthy, healthy), Duration.ofHours(1));
+        try {
+            assertThat(pool.healthyReplicas()).isEqualTo(1);
+            assertThat(pool.getConnection()).isSameAs(healthyConnection);
+            assertThat(pool.getConnection()).isSameAs(healthyConnection);
+        } finally {
+            pool.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Given: healthy replica that then refuses connections, When: getConnection, Then: primary is used and replica is marked down")
+    void fallsBackToPrimary() throws SQLException {
+        HikariDataSource replica = replica(validConnection(true));
+        ReplicaPoolDataSource pool = new ReplicaPoolDataSource(primary, List.of(replica), Duration.ofHours(1));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+        try {
+            assertThat(pool.getConnection()).isSameAs(primaryConnection);
+            assertThat(pool.healthyReplicas()).isZero();
+        } finally {
+            pool.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Given: pinned to primary, When: getConnection, Then: primary is used")
+    void pinnedUsesPrimary() throws SQLException {
+        ReplicaPoolDataSource pool = new ReplicaPoolDataSource(primary, List.of(replica(validConnection(true))), Duration.ofHours(1));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        try {
+            assertThat(ReplicaRouting.onPrimary(() -> {
+                try {
+                    return pool.getConnection();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            })).isSameAs(primaryConnection);
+        } finally {
+            pool.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Given: caller credentials, When: getConnection, Then: SQLFeatureNotSupportedException is thrown")
+    void credentialsAreNotSupported() throws SQLException {
+        ReplicaPoolDataSource pool = new ReplicaPoolDataSource(primary, List.of(replica(validConnection(true))), Duration.ofHours(1));
+        try {
+            assertThatThrownBy(() -> pool.getConnection("user", "secret"))
+                    .isInstanceOf(SQLFeatureNotSupportedException.class);
+        } finally {
+            pool.destroy();
+        }
+    }
+
+    private static HikariDataSource replica(Connection connection) throws SQLException {
+        HikariDataSource replica = mock(HikariDataSource.class);
+        when(replica.getConnection()).thenReturn(connection);
+        return replica;
+    }
+
+    private static Connection validConnection(boolean valid) throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(valid);
+        return connection;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.Book.Store.Application.config;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.mock.MockBook;
+import com.example.Book.Store.Application.service.BookService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("replicas")
+class ReplicaRoutingTest {
+    private static final String PRIMARY = "BOOKSTORE";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ReplicaPoolDataSource replicaPool;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Given: two replicas, When: read-only and read-write transactions, Then: reads alternate over replicas and writes use the primary")
+    void routesByTransactionType() {
+        Set<String> readDatabases = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            readDatabases.add(database(true));
+        }
+
+        assertThat(readDatabases).containsExactlyInAnyOrder("BOOKSTOREREPLICA1", "BOOKSTOREREPLICA2");
+        assertThat(database(false)).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    @DisplayName("Given: pinned to primary, When: read-only transaction, Then: primary is used")
+    void onPrimaryPinsReads() {
+        assertThat(ReplicaRouting.onPrimary(() -> database(true))).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    @DisplayName("Given: bound request routing, When: a write commits, Then: first-write callback runs once and later reads use the primary")
+    void writePinsRestOfRequest() {
+        AtomicInteger firstWrites = new AtomicInteger();
+        ReplicaRouting.bind(false, firstWrites::incrementAndGet);
+        try {
+            assertThat(database(true)).isNotEqualTo(PRIMARY);
+            BookDTO created = bookService.createBook(MockBook.mockBookDTO(null, "Routed Title", "Routed Author", 2001)).orElseThrow();
+            bookService.deleteBook(created.id());
+
+            assertThat(database(true)).isEqualTo(PRIMARY);
+            assertThat(firstWrites).hasValue(1);
+        } finally {
+            ReplicaRouting.unbind();
+        }
+    }
+
+    @Test
+    @DisplayName("Given: local replication, When: book created, Then: it reaches the replicas after the lag")
+    void replicatesCommittedChanges() throws InterruptedException {
+        BookDTO created = bookService.createBook(MockBook.mockBookDTO(null, "Replicated Title", "Replicated Author", 2002)).orElseThrow();
+        try {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!onAllReplicas(created.id()) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertThat(onAllReplicas(created.id())).isTrue();
+        } finally {
+            bookService.deleteBook(created.id());
+        }
+    }
+
+    @Test
+    @DisplayName("Given: replicas, When: POST /api/book, Then: response sets the read-your-writes cookie")
+    void writeSetsReadYourWritesCookie() throws Exception {
+        String body = mockMvc.perform(post("/api/book")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookTitle\":\"Cookie Title\",\"bookAuthor\":\"Cookie Author\",\"bookYear\":2003}"))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE))
+                .andExpect(cookie().maxAge(ReadYourWritesFilter.COOKIE, 2))
+                .andReturn().getResponse().getContentAsString();
+
+        bookService.deleteBook(Integer.valueOf(body.replaceAll(".*\"id\":(\\d+).*", "$1")));
+    }
+
+    private boolean onAllReplicas(Integer id) {
+        return replicaPool.replicaDataSources().stream()
+                .map(JdbcTemplate::new)
+                .allMatch(replica -> replica.queryForObject("SELECT COUNT(*) FROM Book WHERE id = ?", Integer.class, id) == 1);
+    }
+
+    private String database(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.Book.Store.Application.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        ServerTiming.unbind();
+    }
+
+    @Test
+    @DisplayName("Given: recorded phases, When: headerValue, Then: every phase and total in milliseconds")
+    void headerValueListsPhasesInMilliseconds() {
+        ServerTiming timing = new ServerTiming(System.nanoTime());
+        timing.add(ServerTiming.Phase.DB, 1_500_000);
+        timing.add(ServerTiming.Phase.DB, 500_000);
+        timing.add(ServerTiming.Phase.SERIALIZATION, 250_000);
+
+        assertThat(timing.headerValue())
+                .startsWith("db;dur=2.000, mapping;dur=0.000, serialization;dur=0.250, total;dur=");
+    }
+
+    @Test
+    @DisplayName("Given: bound timing, When: propagated supplier runs on another thread, Then: time is added to the request")
+    void propagateCarriesTimingToOtherThreads() throws Exception {
+        ServerTiming timing = ServerTiming.bind(System.nanoTime());
+
+        CompletableFuture.supplyAsync(ServerTiming.propagate(() -> {
+            ServerTiming.current().add(ServerTiming.Phase.DB, 1_000);
+            return null;
+        })).get(5, TimeUnit.SECONDS);
+
+        assertThat(timing.nanos(ServerTiming.Phase.DB)).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("Given: no bound timing, When: propagate, Then: supplier is returned unchanged")
+    void propagateWithoutTimingIsNoOp() {
+        Supplier<String> supplier = () -> "value";
+
+        assertThat(ServerTiming.propagate(supplier)).isSameAs(supplier);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.Book.Store.Application.controllerTest;
+
+import com.example.Book.Store.Application.controller.BookBulkController;
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.BulkItemResult;
+import com.example.Book.Store.Application.dto.BulkItemStatus;
+import com.example.Book.Store.Application.dto.BulkResult;
+import com.example.Book.Store.Application.exception.InvalidRequestException;
+import com.example.Book.Store.Application.mock.MockBook;
+import com.example.Book.Store.Application.dto.ImportReport;
+import com.example.Book.Store.Application.importer.ImportFormat;
+import com.example.Book.Store.Application.service.BookBulkService;
+import com.example.Book.Store.Application.service.BookImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BookBulkController.class)
+class BookBulkControllerTest {
+    private final static String BULK_URL = "/api/book/bulk";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private BookBulkService bookBulkService;
+
+    @MockBean
+    private BookImportService bookImportService;
+
+    @Test
+    @DisplayName("Given: books, When: POST /api/book/bulk, Then: return 200 with per item results")
+    void createBooks() throws Exception {
+        List<BookDTO> bookDTOs = List.of(MockBook.mockBookDTO(), MockBook.mockBookDTO(null, null, "Author", 2024));
+        BulkResult bulkResult = BulkResult.builder()
+                .succeeded(1)
+                .rejected(1)
+                .items(List.of(
+                        BulkItemResult.builder().index(0).id(1).status(BulkItemStatus.CREATED).build(),
+                        BulkItemResult.builder().index(1).status(BulkItemStatus.REJECTED)
+                                .error("bookTitle: BookTitle is required").build()))
+                .build();
+        when(bookBulkService.createBooks(anyList())).thenReturn(bulkResult);
+
+        mockMvc.perform(post(BULK_URL)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(bookDTOs)))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(bulkResult)));
+
+        verify(bookBulkService).createBooks(bookDTOs);
+    }
+
+    @Test
+    @DisplayName("Given: too many books, When: POST /api/book/bulk, Then: return 400 bad request")
+    void createBooksTooMany() throws Exception {
+        when(bookBulkService.createBooks(anyList()))
+                .thenThrow(new InvalidRequestException("Bulk request has 6 items, maximum is 5"));
+
+        mockMvc.perform(post(BULK_URL)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(List.of(MockBook.mockBookDTO()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Bulk request has 6 items, maximum is 5"));
+    }
+
+    @Test
+    @DisplayName("Given: ids, When: DELETE /api/book/bulk?id=1&id=2, Then: return 200 with per item results")
+    void deleteBooks() throws Exception {
+        BulkResult bulkResult = BulkResult.builder()
+                .succeeded(2)
+                .rejected(0)
+                .items(List.of(
+                        BulkItemResult.builder().index(0).id(1).status(BulkItemStatus.DELETED).build(),
+                        BulkItemResult.builder().index(1).id(2).status(BulkItemStatus.DELETED).build()))
+                .build();
+        when(bookBulkService.deleteBooks(anyList())).thenReturn(bulkResult);
+
+        mockMvc.perform(delete(BULK_URL + "?id=1&id=2"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(bulkResult)));
+
+        verify(bookBulkService).deleteBooks(List.of(1, 2));
+    }
+
+    @Test
+    @DisplayName("Given: csv upload, When: POST /api/book/bulk/import, Then: return 200 with import report")
+    void importBooksCsv() throws Exception {
+        ImportReport importReport = ImportReport.builder()
+                .rowsRead(1)
+                .imported(1)
+                .rejections(List.of())
+                .build();
+        when(bookImportService.importBooks(any(), eq(ImportFormat.CSV))).thenReturn(importReport);
+
+        mockMvc.perform(post(BULK_URL + "/import")
+                        .contentType("text/csv")
+                        .content("bookTitle,bookAuthor,bookYear\nTitle,Author,2024\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(importReport)));
+
+        verify(bookImportService).importBooks(any(), eq(ImportFormat.CSV));
+    }
+
+    @Test
+    @DisplayName("Given: unsupported upload type, When: POST /api/book/bulk/import, Then: return 415")
+    void importBooksUnsupportedType() throws Exception {
+        mockMvc.perform(post(BULK_URL + "/import")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("Title,Author,2024"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
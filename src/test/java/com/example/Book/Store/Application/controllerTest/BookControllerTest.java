@@ -1,10 +1,21 @@
 package com.example.Book.Store.Application.controllerTest;
 
 import com.example.Book.Store.Application.controller.BookController;
+import com.example.Book.Store.Application.dto.BookCreation;
+import com.example.Book.Store.Application.dto.BookCreationStatus;
 import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.BookDelta;
+import com.example.Book.Store.Application.dto.BookPage;
+import com.example.Book.Store.Application.dto.BookSlice;
+import com.example.Book.Store.Application.exception.PreconditionFailedException;
+import com.example.Book.Store.Application.exception.ServiceBusyException;
 import com.example.Book.Store.Application.mock.MockBook;
+import com.example.Book.Store.Application.service.BookCreateQueue;
 import com.example.Book.Store.Application.service.BookService;
+import com.example.Book.Store.Application.service.CatalogueResponseCache;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -13,16 +24,24 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -42,6 +61,12 @@ class BookControllerTest {
     @MockBean
     private BookService bookService;
 
+    @MockBean
+    private BookCreateQueue bookCreateQueue;
+
+    @MockBean
+    private CatalogueResponseCache catalogueResponseCache;
+
     private static Stream<Arguments> invalidParam() {
         return Stream.of(
                 Arguments.of("blank request param", "?id= "),
@@ -90,6 +115,53 @@ class BookControllerTest {
         verify(bookService).getBookById(999);
     }
 
+    @Test
+    @DisplayName("Given: valid id, When: GET /api/book/1, Then: return ETag from row version")
+    void getBookByIdETag() throws Exception {
+        BookDTO bookDTO = versioned(MockBook.mockBookDTO(1, "Title", "Author", 2024), 3L);
+        when(bookService.getBookById(1)).thenReturn(Optional.of(bookDTO));
+
+        mockMvc.perform(get(BOOK_URL + "/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Given: current ETag, When: GET /api/book/1 with If-None-Match, Then: return 304 without body")
+    void getBookByIdNotModified() throws Exception {
+        BookDTO bookDTO = versioned(MockBook.mockBookDTO(1, "Title", "Author", 2024), 3L);
+        when(bookService.getBookById(1)).thenReturn(Optional.of(bookDTO));
+
+        mockMvc.perform(get(BOOK_URL + "/1").header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Given: unchanged catalogue, When: GET /api/book/all with If-None-Match, Then: return 304 without loading books")
+    void getAllBooksNotModified() throws Exception {
+        when(bookService.getListingVersion()).thenReturn("1-7");
+
+        mockMvc.perform(get(BOOK_URL + "/all").header(HttpHeaders.IF_NONE_MATCH, "W/\"catalogue-1-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(bookService, never()).getAllBooks();
+    }
+
+    @Test
+    @DisplayName("Given: changed catalogue, When: GET /api/book/all with If-None-Match, Then: return 200 with new ETag")
+    void getAllBooksModified() throws Exception {
+        when(bookService.getListingVersion()).thenReturn("1-8");
+        when(bookService.getAllBooks()).thenReturn(List.of(MockBook.mockBookDTO(1, "Title", "Author", 2024)));
+
+        mockMvc.perform(get(BOOK_URL + "/all").header(HttpHeaders.IF_NONE_MATCH, "W/\"catalogue-1-7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"catalogue-1-8\""))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
     @Test
     @DisplayName("Given: invalid id , When: GET /api/book/a, Then: return 400 status bad request")
     void getBookByIdInvalidParam() throws Exception {
@@ -140,6 +212,30 @@ class BookControllerTest {
         verify(bookService).getBookByIds(List.of(1, 999));
     }
 
+    @Test
+    @DisplayName("Given: duplicate missing ids, When: GET /api/book?id=999&id=1&id=999&id=998, Then: return header X-MISSING-SET once per id")
+    void getBookByIdsWithDuplicateMissingIds() throws Exception {
+        List<BookDTO> bookDTOList = List.of(MockBook.mockBookDTO(1, "Title", "Author", 2024));
+        when(bookService.getBookByIds(anyList())).thenReturn(bookDTOList);
+
+        mockMvc.perform(get(BOOK_URL + "?id=999&id=1&id=999&id=998"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-MISSING-SET", "999,998"));
+    }
+
+    @Test
+    @DisplayName("Given: no id param, When: GET /api/book, Then: return 200 with []")
+    void getBookByIdsWithoutParam() throws Exception {
+        when(bookService.getBookByIds(anyList())).thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get(BOOK_URL))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"))
+                .andExpect(header().doesNotExist("X-MISSING-SET"));
+
+        verify(bookService).getBookByIds(List.of());
+    }
+
     @ParameterizedTest(name = "{0}")
     @MethodSource("invalidParam")
     void getBookByIdsInvalidParam(String scenario, String requestParam) throws Exception {
@@ -166,6 +262,186 @@ class BookControllerTest {
         verify(bookService).getAllBooks();
     }
 
+    @Test
+    @DisplayName("Given: Accept application/cbor, When: GET /api/book/all, Then: return 200 with CBOR list bookDTO")
+    void getAllBooksAsCbor() throws Exception {
+        List<BookDTO> bookDTOList = List.of(MockBook.mockBookDTO(1, "Title", "Author", 2024));
+        when(bookService.getAllBooks()).thenReturn(bookDTOList);
+
+        MvcResult result = mockMvc.perform(get(BOOK_URL + "/all").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn();
+
+        List<BookDTO> decoded = new CBORMapper().readValue(result.getResponse().getContentAsByteArray(),
+                new TypeReference<List<BookDTO>>() {
+                });
+        assertThat(decoded).isEqualTo(bookDTOList);
+    }
+
+    @Test
+    @DisplayName("Given: cached catalogue listing, When: GET /api/book/all, Then: return 200 with cached JSON bytes")
+    void getAllBooksFromResponseCache() throws Exception {
+        byte[] json = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        when(bookService.getListingVersion()).thenReturn("1-8");
+        when(catalogueResponseCache.isEnabled()).thenReturn(true);
+        when(catalogueResponseCache.get("1-8"))
+                .thenReturn(Optional.of(new CatalogueResponseCache.Entry("1-8", json, new byte[]{31, -117})));
+
+        mockMvc.perform(get(BOOK_URL + "/all"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"catalogue-1-8\""))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(json));
+
+        verify(bookService, never()).getAllBooks();
+    }
+
+    @Test
+    @DisplayName("Given: cached catalogue listing, When: GET /api/book/all with Accept-Encoding gzip, Then: return the pre-gzipped bytes under their own ETag")
+    void getAllBooksFromResponseCacheGzipped() throws Exception {
+        byte[] gzip = {31, -117, 8, 0};
+        when(bookService.getListingVersion()).thenReturn("1-8");
+        when(catalogueResponseCache.isEnabled()).thenReturn(true);
+        when(catalogueResponseCache.get("1-8"))
+                .thenReturn(Optional.of(new CatalogueResponseCache.Entry("1-8", new byte[]{'[', ']'}, gzip)));
+
+        mockMvc.perform(get(BOOK_URL + "/all").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"catalogue-1-8-gzip\""))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andExpect(content().bytes(gzip));
+    }
+
+    @Test
+    @DisplayName("Given: client holds the identity listing, When: GET /api/book/all with Accept-Encoding gzip and If-None-Match, Then: return 200, and 304 once it holds the gzip tag")
+    void getAllBooksFromResponseCacheRevalidatesPerEncoding() throws Exception {
+        byte[] gzip = {31, -117, 8, 0};
+        when(bookService.getListingVersion()).thenReturn("1-8");
+        when(catalogueResponseCache.isEnabled()).thenReturn(true);
+        when(catalogueResponseCache.get("1-8"))
+                .thenReturn(Optional.of(new CatalogueResponseCache.Entry("1-8", new byte[]{'[', ']'}, gzip)));
+
+        mockMvc.perform(get(BOOK_URL + "/all")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"catalogue-1-8\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(gzip));
+        mockMvc.perform(get(BOOK_URL + "/all")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"catalogue-1-8-gzip\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Given: response cache enabled, When: GET /api/book/all with Accept application/cbor, Then: bypass the cache")
+    void getAllBooksAsCborBypassesResponseCache() throws Exception {
+        when(bookService.getListingVersion()).thenReturn("1-8");
+        when(bookService.getAllBooks()).thenReturn(List.of(MockBook.mockBookDTO(1, "Title", "Author", 2024)));
+        when(catalogueResponseCache.isEnabled()).thenReturn(true);
+
+        mockMvc.perform(get(BOOK_URL + "/all").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+
+        verify(catalogueResponseCache, never()).get(any());
+    }
+
+    @Test
+    @DisplayName("Given: cursor and size, When: GET /api/book/page?after=1&size=1, Then: return 200 with page and next cursor")
+    void getBookPage() throws Exception {
+        BookPage bookPage = BookPage.builder()
+                .books(List.of(MockBook.mockBookDTO(2, "Title", "Author", 2024)))
+                .nextCursor(2)
+                .build();
+        when(bookService.getBookPage(anyInt(), anyInt())).thenReturn(bookPage);
+
+        mockMvc.perform(get(BOOK_URL + "/page?after=1&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(bookPage)));
+
+        verify(bookService).getBookPage(1, 1);
+    }
+
+    @Test
+    @DisplayName("Given: author and size, When: GET /api/book/by-author, Then: return 200 with slice and catalogue ETag")
+    void getBooksByAuthor() throws Exception {
+        BookSlice bookSlice = BookSlice.builder()
+                .books(List.of(MockBook.mockBookDTO(2, "Title", "Author", 2024)))
+                .nextCursor("MjAyNAoy")
+                .build();
+        when(bookService.getBooksByAuthor("Author", null, 1)).thenReturn(bookSlice);
+        when(bookService.getListingVersion()).thenReturn("3");
+
+        mockMvc.perform(get(BOOK_URL + "/by-author?author=Author&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"catalogue-3\""))
+                .andExpect(content().json(objectMapper.writeValueAsString(bookSlice)));
+    }
+
+    @Test
+    @DisplayName("Given: year range and cursor, When: GET /api/book/by-year, Then: service gets range, cursor and default size")
+    void getBooksByYearRange() throws Exception {
+        BookSlice bookSlice = BookSlice.builder().books(List.of()).build();
+        when(bookService.getBooksByYearRange(2000, 2010, "MjAwNQo3", 100)).thenReturn(bookSlice);
+
+        mockMvc.perform(get(BOOK_URL + "/by-year?from=2000&to=2010&cursor=MjAwNQo3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Given: no prefix, When: GET /api/book/by-title, Then: return 400")
+    void getBooksByTitlePrefixWithoutPrefix() throws Exception {
+        mockMvc.perform(get(BOOK_URL + "/by-title"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookService, never()).getBooksByTitlePrefix(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Given: watermark, When: GET /api/book/delta?since=5&limit=2, Then: return 200 with changes, tombstones and new watermark")
+    void getChangesSince() throws Exception {
+        BookDelta bookDelta = BookDelta.builder()
+                .books(List.of(MockBook.mockBookDTO(2, "Title", "Author", 2024)))
+                .deletedIds(List.of(3))
+                .watermark(7)
+                .hasMore(true)
+                .build();
+        when(bookService.getChangesSince(5L, 2)).thenReturn(bookDelta);
+
+        mockMvc.perform(get(BOOK_URL + "/delta?since=5&limit=2"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(bookDelta)));
+    }
+
+    @Test
+    @DisplayName("Given : - , When: GET /api/book/stream, Then: return 200 with one bookDTO per line")
+    @SuppressWarnings("unchecked")
+    void streamAllBooks() throws Exception {
+        BookDTO first = MockBook.mockBookDTO(1, "Title", "Author", 2024);
+        BookDTO second = MockBook.mockBookDTO(2, "Other Title", "Other Author", 2023);
+        doAnswer(invocation -> {
+            Consumer<BookDTO> consumer = invocation.getArgument(0);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(bookService).streamAllBooks(any(Consumer.class));
+
+        MvcResult mvcResult = mockMvc.perform(get(BOOK_URL + "/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(objectMapper.writeValueAsString(first) + "\n"
+                        + objectMapper.writeValueAsString(second) + "\n"));
+    }
+
     @Test
     @DisplayName("Given: book, When: POST /api/book, Then: return 201 created")
     void createBook() throws Exception {
@@ -181,6 +457,64 @@ class BookControllerTest {
         verify(bookService).createBook(any(BookDTO.class));
     }
 
+    @Test
+    @DisplayName("Given: group commit and Prefer respond-async, When: POST /api/book, Then: return 202 with creation handle")
+    void createBookAsync() throws Exception {
+        BookDTO bookDTO = MockBook.mockBookDTO(null, "Title", "Author", 2024);
+        BookCreation creation = BookCreation.builder().handle("h1").status(BookCreationStatus.PENDING).build();
+        when(bookCreateQueue.isEnabled()).thenReturn(true);
+        when(bookCreateQueue.submit(any(BookDTO.class))).thenReturn(creation);
+
+        mockMvc.perform(post(BOOK_URL)
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(bookDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/book/creations/h1"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        verify(bookService, never()).createBook(any(BookDTO.class));
+    }
+
+    @Test
+    @DisplayName("Given: group commit without Prefer, When: POST /api/book, Then: wait for the commit and return 201")
+    void createBookGroupCommit() throws Exception {
+        BookDTO bookDTO = MockBook.mockBookDTO(1, "Title", "Author", 2024);
+        when(bookCreateQueue.isEnabled()).thenReturn(true);
+        when(bookCreateQueue.createAndWait(any(BookDTO.class))).thenReturn(bookDTO);
+
+        mockMvc.perform(post(BOOK_URL)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(bookDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(content().json(objectMapper.writeValueAsString(bookDTO)));
+    }
+
+    @Test
+    @DisplayName("Given: full create queue, When: POST /api/book, Then: return 503 with Retry-After")
+    void createBookQueueFull() throws Exception {
+        BookDTO bookDTO = MockBook.mockBookDTO(null, "Title", "Author", 2024);
+        when(bookCreateQueue.isEnabled()).thenReturn(true);
+        when(bookCreateQueue.createAndWait(any(BookDTO.class)))
+                .thenThrow(new ServiceBusyException("Book create queue is full", Duration.ofSeconds(2)));
+
+        mockMvc.perform(post(BOOK_URL)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(bookDTO)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.message").value("Book create queue is full"));
+    }
+
+    @Test
+    @DisplayName("Given: unknown handle, When: GET /api/book/creations/x, Then: return 404 not found")
+    void getBookCreationNotFound() throws Exception {
+        when(bookCreateQueue.getCreation("x")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get(BOOK_URL + "/creations/x"))
+                .andExpect(status().isNotFound());
+    }
+
     @ParameterizedTest(name = "{0}")
     @MethodSource("emptyCreateValue")
     void createBookWithEmpty(String scenario, BookDTO bookDTO, String expectedMessage) throws Exception {
@@ -199,7 +533,7 @@ class BookControllerTest {
     @DisplayName("Given: valid id, When: PUT /api/book/1, Then: return 200 with update bookDTO")
     void updateBook() throws Exception {
         BookDTO bookDTO = MockBook.mockBookDTO(1, "Title", "Author", 2024);
-        when(bookService.updateBook(anyInt(), any(BookDTO.class))).thenReturn(Optional.of(bookDTO));
+        when(bookService.updateBook(anyInt(), any(BookDTO.class), isNull())).thenReturn(Optional.of(bookDTO));
 
         mockMvc.perform(put((BOOK_URL + "/1"))
                         .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -207,7 +541,58 @@ class BookControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(bookDTO)));
 
-        verify(bookService).updateBook(1, bookDTO);
+        verify(bookService).updateBook(1, bookDTO, null);
+    }
+
+    @Test
+    @DisplayName("Given: If-Match, When: PUT /api/book/1, Then: update at that version and return new ETag")
+    void updateBookIfMatch() throws Exception {
+        BookDTO bookDTO = MockBook.mockBookDTO(1, "Title", "Author", 2024);
+        when(bookService.updateBook(1, bookDTO, 3L)).thenReturn(Optional.of(versioned(bookDTO, 4L)));
+
+        mockMvc.perform(put((BOOK_URL + "/1"))
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(bookDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""));
+    }
+
+    @Test
+    @DisplayName("Given: stale If-Match, When: PUT /api/book/1, Then: return 412")
+    void updateBookIfMatchStale() throws Exception {
+        BookDTO bookDTO = MockBook.mockBookDTO(1, "Title", "Author", 2024);
+        when(bookService.updateBook(1, bookDTO, 3L))
+                .thenThrow(new PreconditionFailedException("Book Id With 1 is at version 4, not 3"));
+
+        mockMvc.perform(put((BOOK_URL + "/1"))
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(bookDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value("Book Id With 1 is at version 4, not 3"));
+    }
+
+    @Test
+    @DisplayName("Given: If-Match for another book, When: DELETE /api/book/1, Then: return 412 without deleting")
+    void deleteBookIfMatchOtherBook() throws Exception {
+        mockMvc.perform(delete(BOOK_URL + "/1").header(HttpHeaders.IF_MATCH, "\"2-3\""))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(bookService, never()).deleteBook(anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Given: no If-Match, When: PUT /api/book/1, Then: return 200 without ETag")
+    void updateBookWithoutVersion() throws Exception {
+        BookDTO bookDTO = MockBook.mockBookDTO(1, "Title", "Author", 2024);
+        when(bookService.updateBook(1, bookDTO, null)).thenReturn(Optional.of(bookDTO));
+
+        mockMvc.perform(put((BOOK_URL + "/1"))
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(bookDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
     }
 
     @Test
@@ -220,13 +605,13 @@ class BookControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value("Book Id With " + 999 + " not found"));
 
-        verify(bookService).updateBook(999, bookDTO);
+        verify(bookService).updateBook(999, bookDTO, null);
     }
 
     @ParameterizedTest(name = "{0}")
     @MethodSource("emptyUpdateValue")
     void updateBookWithEmpty(String scenario, BookDTO bookDTO, String expectedMessage) throws Exception {
-        when(bookService.updateBook(anyInt(), any(BookDTO.class))).thenReturn(Optional.of(bookDTO));
+        when(bookService.updateBook(anyInt(), any(BookDTO.class), isNull())).thenReturn(Optional.of(bookDTO));
 
         mockMvc.perform(put((BOOK_URL + "/1"))
                         .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -234,34 +619,32 @@ class BookControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(content().json(expectedMessage));
 
-        verify(bookService, never()).updateBook(1, bookDTO);
+        verify(bookService, never()).updateBook(1, bookDTO, null);
     }
 
     @Test
     @DisplayName("Given: valid id , When: DELETE /api/book?id=1, Then: return 200 with successfully deleted")
     void deleteBook() throws Exception {
-        BookDTO bookDTO = MockBook.mockBookDTO(1, "Title", "Author", 2024);
-        when(bookService.getBookById(1))
-                .thenReturn(Optional.of(bookDTO));
+        when(bookService.deleteBook(1, null)).thenReturn(true);
 
-        bookService.deleteBook(1);
         mockMvc.perform(delete(BOOK_URL + "/1"))
                 .andExpect(status().isOk())
                 .andExpect(content().string("Book with ID 1 successfully deleted."));
 
-        verify(bookService).getBookById(1);
-        verify(bookService, times(2)).deleteBook(1);
+        verify(bookService).deleteBook(1, null);
+        verify(bookService, never()).getBookById(anyInt());
     }
 
     @Test
     @DisplayName("Given: id not found, When: DELETE /api/book?id=999, Then: return 404 with not found")
     void deleteBookWithIdNotFound() throws Exception {
-        bookService.deleteBook(999);
+        when(bookService.deleteBook(999, null)).thenReturn(false);
+
         mockMvc.perform(delete(BOOK_URL + "/999"))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value("Book Id With " + 999 + " not found"));
 
-        verify(bookService).deleteBook(999);
+        verify(bookService).deleteBook(999, null);
     }
 
     @Test
@@ -273,4 +656,14 @@ class BookControllerTest {
 
         verifyNoInteractions(bookService);
     }
+
+    private static BookDTO versioned(BookDTO bookDTO, Long version) {
+        return BookDTO.builder()
+                .id(bookDTO.id())
+                .bookTitle(bookDTO.bookTitle())
+                .bookAuthor(bookDTO.bookAuthor())
+                .bookYear(bookDTO.bookYear())
+                .version(version)
+                .build();
+    }
 }
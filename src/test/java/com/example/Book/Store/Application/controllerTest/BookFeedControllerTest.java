@@ -0,0 +1,60 @@
+package com.example.Book.Store.Application.controllerTest;
+
+import com.example.Book.Store.Application.controller.BookFeedController;
+import com.example.Book.Store.Application.event.BookChangeFeed;
+import com.example.Book.Store.Application.event.BookChangedEvent;
+import com.example.Book.Store.Application.mock.MockBook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@WebMvcTest(BookFeedController.class)
+@Import(BookChangeFeed.class)
+class BookFeedControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookChangeFeed bookChangeFeed;
+
+    @Test
+    @DisplayName("Given: open feed, When: book created, Then: change event with id and JSON data is streamed")
+    void streamsChanges() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/book/changes"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        bookChangeFeed.onBookChanged(BookChangedEvent.created(MockBook.mockBookDTO(7, "Title", "Author", 2024)));
+
+        String body = awaitBody(response, "event:change");
+        assertThat(body).contains("id:" + bookChangeFeed.eventId(1))
+                .contains("\"type\":\"CREATED\"")
+                .contains("\"bookTitle\":\"Title\"");
+    }
+
+    @Test
+    @DisplayName("Given: Last-Event-ID from another run, When: GET /api/book/changes, Then: resync event first")
+    void resyncsUnknownLastEventId() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/book/changes").header("Last-Event-ID", "1-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        assertThat(awaitBody(response, "event:resync")).contains("/api/book/all");
+    }
+
+    private static String awaitBody(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!response.getContentAsString().contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return response.getContentAsString();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.Book.Store.Application.controllerTest;
+
+import com.example.Book.Store.Application.controller.BookSearchController;
+import com.example.Book.Store.Application.dto.SearchHit;
+import com.example.Book.Store.Application.dto.SearchResult;
+import com.example.Book.Store.Application.exception.InvalidRequestException;
+import com.example.Book.Store.Application.mock.MockBook;
+import com.example.Book.Store.Application.service.BookSearchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BookSearchController.class)
+class BookSearchControllerTest {
+    private final static String SEARCH_URL = "/api/book/search";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookSearchService bookSearchService;
+
+    @Test
+    @DisplayName("Given: query, When: GET /api/book/search, Then: return 200 with ranked hits")
+    void search() throws Exception {
+        SearchResult searchResult = SearchResult.builder()
+                .query("hobbit")
+                .total(1)
+                .page(0)
+                .size(20)
+                .hits(List.of(SearchHit.builder()
+                        .book(MockBook.mockBookDTO(1, "The Hobbit", "J. R. R. Tolkien", 1937))
+                        .score(6)
+                        .build()))
+                .build();
+        when(bookSearchService.search("hobbit", 0, 20)).thenReturn(searchResult);
+
+        mockMvc.perform(get(SEARCH_URL).param("q", "hobbit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.hits[0].book.bookTitle").value("The Hobbit"))
+                .andExpect(jsonPath("$.hits[0].score").value(6.0));
+    }
+
+    @Test
+    @DisplayName("Given: blank query, When: GET /api/book/search, Then: return 400")
+    void searchBlankQuery() throws Exception {
+        when(bookSearchService.search(" ", 0, 20))
+                .thenThrow(new InvalidRequestException("Search query must not be blank"));
+
+        mockMvc.perform(get(SEARCH_URL).param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Search query must not be blank"));
+    }
+}
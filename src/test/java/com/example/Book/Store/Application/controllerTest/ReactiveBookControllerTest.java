@@ -0,0 +1,168 @@
+package com.example.Book.Store.Application.controllerTest;
+
+import com.example.Book.Store.Application.controller.ReactiveBookController;
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.exception.PreconditionFailedException;
+import com.example.Book.Store.Application.mock.MockBook;
+import com.example.Book.Store.Application.service.ReactiveBookService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = ReactiveBookController.class,
+        properties = "spring.main.web-application-type=reactive")
+class ReactiveBookControllerTest {
+    private final static String BOOK_URL = "/api/book";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveBookService bookService;
+
+    @Test
+    @DisplayName("Given: valid id, When: GET /api/book/1, Then: return bookDTO with ETag")
+    void getBookById() {
+        when(bookService.getBookById(1)).thenReturn(Mono.just(versioned(MockBook.mockBookDTO(1, "Title", "Author", 2024), 3L)));
+
+        webTestClient.get().uri(BOOK_URL + "/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-3\"")
+                .expectBody().json("{\"id\":1,\"bookTitle\":\"Title\",\"bookAuthor\":\"Author\",\"bookYear\":2024}");
+    }
+
+    @Test
+    @DisplayName("Given: unknown id, When: GET /api/book/999, Then: return 404 with message")
+    void getBookByIdNotFound() {
+        when(bookService.getBookById(999)).thenReturn(Mono.empty());
+
+        webTestClient.get().uri(BOOK_URL + "/999")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().json("{\"message\":\"Book with ID 999 not found\"}");
+    }
+
+    @Test
+    @DisplayName("Given: some ids missing, When: GET /api/book?id=1&id=2&id=1, Then: return found books and X-MISSING-SET")
+    void getBookByIdsWithMissingSet() {
+        when(bookService.getBookByIds(List.of(1, 2, 1))).thenReturn(Mono.just(List.of(MockBook.mockBookDTO(1, "Title", "Author", 2024))));
+
+        webTestClient.get().uri(BOOK_URL + "?id=1&id=2&id=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-MISSING-SET", "2")
+                .expectBody().json("[{\"id\":1}]");
+    }
+
+    @Test
+    @DisplayName("Given: catalogue, When: GET /api/book/stream, Then: return one JSON document per line")
+    void streamAllBooks() {
+        when(bookService.getAllBooks()).thenReturn(Flux.just(
+                MockBook.mockBookDTO(1, "Title", "Author", 2024),
+                MockBook.mockBookDTO(2, "Title 2", "Author 2", 2023)));
+
+        String body = webTestClient.get().uri(BOOK_URL + "/stream")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(body).isEqualTo(
+                "{\"id\":1,\"bookTitle\":\"Title\",\"bookAuthor\":\"Author\",\"bookYear\":2024}\n"
+                        + "{\"id\":2,\"bookTitle\":\"Title 2\",\"bookAuthor\":\"Author 2\",\"bookYear\":2023}\n");
+    }
+
+    @Test
+    @DisplayName("Given: matching If-None-Match, When: GET /api/book/all, Then: return 304 without reading the catalogue")
+    void getAllBooksNotModified() {
+        when(bookService.getCatalogueVersion()).thenReturn("1-0");
+        when(bookService.getAllBooks()).thenReturn(Flux.error(new IllegalStateException("should not be read")));
+
+        webTestClient.get().uri(BOOK_URL + "/all")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"catalogue-1-0\"")
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    @DisplayName("Given: valid book, When: POST /api/book, Then: return 201 with created book")
+    void createBook() {
+        BookDTO bookDTO = MockBook.mockBookDTO();
+        when(bookService.createBook(bookDTO)).thenReturn(Mono.just(MockBook.mockBookDTO(51, "Title", "Author", 2024)));
+
+        webTestClient.post().uri(BOOK_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().json("{\"id\":51,\"bookTitle\":\"Title\"}");
+    }
+
+    @Test
+    @DisplayName("Given: all fields empty, When: POST /api/book, Then: return 400 with field errors")
+    void createBookInvalid() {
+        webTestClient.post().uri(BOOK_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(MockBook.mockBookDTO(1, null, null, null))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().json("{\"bookYear\":\"Book Year is required\",\"bookAuthor\":\"Book Author is required\",\"bookTitle\":\"BookTitle is required\"}");
+        verify(bookService, never()).createBook(any());
+    }
+
+    @Test
+    @DisplayName("Given: stale If-Match, When: PUT /api/book/1, Then: return 412")
+    void updateBookStale() {
+        when(bookService.updateBook(eq(1), any(), eq(2L)))
+                .thenReturn(Mono.error(new PreconditionFailedException("Book Id With 1 is not at version 2")));
+
+        webTestClient.put().uri(BOOK_URL + "/1")
+                .header(HttpHeaders.IF_MATCH, "\"1-2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(MockBook.mockBookDTO())
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody().json("{\"message\":\"Book Id With 1 is not at version 2\"}");
+    }
+
+    @Test
+    @DisplayName("Given: unknown id, When: DELETE /api/book/999, Then: return 404")
+    void deleteBookNotFound() {
+        when(bookService.deleteBook(eq(999), isNull())).thenReturn(Mono.just(false));
+
+        webTestClient.delete().uri(BOOK_URL + "/999")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().json("{\"message\":\"Book Id With 999 not found\"}");
+    }
+
+    private static BookDTO versioned(BookDTO bookDTO, Long version) {
+        return BookDTO.builder()
+                .id(bookDTO.id())
+                .bookTitle(bookDTO.bookTitle())
+                .bookAuthor(bookDTO.bookAuthor())
+                .bookYear(bookDTO.bookYear())
+                .version(version)
+                .build();
+    }
+}
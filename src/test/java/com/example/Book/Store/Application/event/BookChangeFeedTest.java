@@ -0,0 +1,166 @@
+package com.example.Book.Store.Application.event;
+
+import com.example.Book.Store.Application.mock.MockBook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookChangeFeedTest {
+    private final BookChangeFeed feed = new BookChangeFeed(3, 2, Duration.ofHours(1));
+
+    @AfterEach
+    void tearDown() {
+        feed.destroy();
+    }
+
+    @Test
+    @DisplayName("Given: subscriber without Last-Event-ID, When: changes commit, Then: they arrive in order with increasing ids")
+    void deliversInOrder() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        feed.subscribe(null, subscriber);
+
+        feed.onBookChanged(BookChangedEvent.created(MockBook.mockBookDTO(1, "Title", "Author", 2024)));
+        feed.onBookChanged(BookChangedEvent.deleted(1));
+
+        assertThat(subscriber.next()).isEqualTo(feed.eventId(1) + " CREATED 1");
+        assertThat(subscriber.next()).isEqualTo(feed.eventId(2) + " DELETED 1");
+    }
+
+    @Test
+    @DisplayName("Given: Last-Event-ID within history, When: subscribe, Then: only later changes are replayed")
+    void resumesAfterLastEventId() throws Exception {
+        for (int id = 1; id <= 3; id++) {
+            feed.onBookChanged(BookChangedEvent.deleted(id));
+        }
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        feed.subscribe(feed.eventId(1), subscriber);
+
+        assertThat(List.of(subscriber.next(), subscriber.next()))
+                .containsExactly(feed.eventId(2) + " DELETED 2", feed.eventId(3) + " DELETED 3");
+    }
+
+    @Test
+    @DisplayName("Given: Last-Event-ID older than history or from another run, When: subscribe, Then: resync at latest id")
+    void resyncsWhenNotResumable() throws Exception {
+        for (int id = 1; id <= 5; id++) {
+            feed.onBookChanged(BookChangedEvent.deleted(id));
+        }
+        RecordingSubscriber tooOld = new RecordingSubscriber();
+        RecordingSubscriber otherRun = new RecordingSubscriber();
+
+        feed.subscribe(feed.eventId(1), tooOld);
+        feed.subscribe("1-4", otherRun);
+
+        assertThat(tooOld.next()).isEqualTo(feed.eventId(5) + " RESYNC");
+        assertThat(otherRun.next()).isEqualTo(feed.eventId(5) + " RESYNC");
+    }
+
+    @Test
+    @DisplayName("Given: subscriber blocked with a full buffer, When: more changes commit, Then: queued changes are replaced by one resync")
+    void overflowDropsAndResyncs() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSubscriber subscriber = new RecordingSubscriber(release);
+        feed.subscribe(null, subscriber);
+
+        feed.onBookChanged(BookChangedEvent.deleted(1));
+        assertThat(subscriber.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int id = 2; id <= 5; id++) {
+            feed.onBookChanged(BookChangedEvent.deleted(id));
+        }
+        release.countDown();
+
+        assertThat(subscriber.next()).isEqualTo(feed.eventId(1) + " DELETED 1");
+        assertThat(subscriber.next()).isEqualTo(feed.eventId(4) + " RESYNC");
+        assertThat(subscriber.next()).isEqualTo(feed.eventId(5) + " DELETED 5");
+    }
+
+    @Test
+    @DisplayName("Given: several subscribers blocked in a send, When: a change commits, Then: other subscribers still receive it")
+    void blockedSubscribersDoNotStallOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<RecordingSubscriber> blocked = List.of(new RecordingSubscriber(release), new RecordingSubscriber(release),
+                new RecordingSubscriber(release), new RecordingSubscriber(release));
+        blocked.forEach(subscriber -> feed.subscribe(null, subscriber));
+        RecordingSubscriber responsive = new RecordingSubscriber();
+        feed.subscribe(null, responsive);
+
+        try {
+            feed.onBookChanged(BookChangedEvent.deleted(1));
+            for (RecordingSubscriber subscriber : blocked) {
+                assertThat(subscriber.entered.await(5, TimeUnit.SECONDS)).isTrue();
+            }
+            feed.onBookChanged(BookChangedEvent.deleted(2));
+
+            assertThat(responsive.next()).isEqualTo(feed.eventId(1) + " DELETED 1");
+            assertThat(responsive.next()).isEqualTo(feed.eventId(2) + " DELETED 2");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Given: subscriber that fails, When: change commits, Then: subscription is cancelled")
+    void failingSubscriberIsCancelled() throws Exception {
+        CountDownLatch failed = new CountDownLatch(1);
+        feed.subscribe(null, new RecordingSubscriber() {
+            @Override
+            public void onEvent(String eventId, BookFeedEvent event) {
+                failed.countDown();
+                throw new IllegalStateException("client gone");
+            }
+        });
+
+        feed.onBookChanged(BookChangedEvent.deleted(1));
+
+        assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (feed.subscriberCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(feed.subscriberCount()).isZero();
+    }
+
+    private static class RecordingSubscriber implements BookChangeFeed.Subscriber {
+        private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        RecordingSubscriber() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingSubscriber(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onEvent(String eventId, BookFeedEvent event) throws Exception {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            received.add(eventId + " " + event.type() + " " + event.id());
+        }
+
+        @Override
+        public void onResync(String eventId) {
+            received.add(eventId + " RESYNC");
+        }
+
+        @Override
+        public void onHeartbeat() {
+        }
+
+        String next() throws InterruptedException {
+            return received.poll(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.Book.Store.Application.importer;
+
+import com.example.Book.Store.Application.exception.InvalidRequestException;
+import com.example.Book.Store.Application.mock.MockBook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvBookRowReaderTest {
+
+    @Test
+    @DisplayName("Given: csv with header in any order, When: next, Then: return book rows with line numbers")
+    void next() throws IOException {
+        CsvBookRowReader reader = reader("book_year,bookAuthor,BookTitle\n2024,Author,Title\n\n1999,Other,Other Title\n");
+
+        assertThat(reader.next()).isEqualTo(BookRow.of(2, MockBook.mockBookDTO()));
+        assertThat(reader.next()).isEqualTo(BookRow.of(4, MockBook.mockBookDTO(null, "Other Title", "Other", 1999)));
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Given: quoted fields, When: next, Then: return unescaped values")
+    void nextQuoted() throws IOException {
+        CsvBookRowReader reader = reader("bookTitle,bookAuthor,bookYear\n\"Title, \"\"Quoted\"\"\nSecond line\",Author,2024\n");
+
+        assertThat(reader.next()).isEqualTo(
+                BookRow.of(2, MockBook.mockBookDTO(null, "Title, \"Quoted\"\nSecond line", "Author", 2024)));
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Given: malformed rows, When: next, Then: return rejected rows")
+    void nextRejected() throws IOException {
+        CsvBookRowReader reader = reader("bookTitle,bookAuthor,bookYear\nTitle,Author,year\nTitle only\n");
+
+        assertThat(reader.next()).isEqualTo(BookRow.rejected(2, "bookYear: 'year' is not a number"));
+        assertThat(reader.next()).isEqualTo(BookRow.rejected(3, "Expected at least 3 columns but found 1"));
+    }
+
+    @Test
+    @DisplayName("Given: csv without required header, When: create reader, Then: throw InvalidRequestException")
+    void missingHeader() {
+        assertThatThrownBy(() -> reader("Title,Author,2024\n"))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("CSV header must contain bookTitle, bookAuthor and bookYear");
+    }
+
+    private static CsvBookRowReader reader(String csv) throws IOException {
+        return new CsvBookRowReader(new BufferedReader(new StringReader(csv)));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.Book.Store.Application.repository;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.BookDelta;
+import com.example.Book.Store.Application.mock.MockBook;
+import com.example.Book.Store.Application.service.BookBulkService;
+import com.example.Book.Store.Application.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BookDeltaRepositoryTest {
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookBulkService bookBulkService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long watermark;
+
+    @BeforeEach
+    void setUp() {
+        watermark = jdbcTemplate.queryForObject("SELECT GREATEST("
+                + "(SELECT COALESCE(MAX(change_seq), 0) FROM Book), "
+                + "(SELECT COALESCE(MAX(change_seq), 0) FROM book_tombstone))", Long.class);
+    }
+
+    @Test
+    @DisplayName("Given: books created, updated and deleted after a watermark, When: getChangesSince, Then: latest state of changed books and tombstones")
+    void changesSinceWatermark() {
+        BookDTO kept = create("Delta Kept");
+        BookDTO removed = create("Delta Removed");
+        bookService.updateBook(kept.id(), MockBook.mockBookDTO(null, "Delta Kept 2", "Delta Author", 2010));
+        bookService.deleteBook(removed.id());
+
+        BookDelta delta = bookService.getChangesSince(watermark, 100);
+
+        assertThat(delta.books()).extracting(BookDTO::bookTitle).containsExactly("Delta Kept 2");
+        assertThat(delta.deletedIds()).containsExactly(removed.id());
+        assertThat(delta.watermark()).isGreaterThan(watermark);
+        assertThat(delta.hasMore()).isFalse();
+        assertThat(bookService.getChangesSince(delta.watermark(), 100).books()).isEmpty();
+        bookService.deleteBook(kept.id());
+    }
+
+    @Test
+    @DisplayName("Given: more changes than the limit, When: follow watermarks, Then: every change is returned once in order")
+    void pagesByWatermark() {
+        List<Integer> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(create("Delta Page " + i).id());
+        }
+        bookBulkService.deleteBooks(created.subList(0, 2));
+
+        List<Integer> changedIds = new ArrayList<>();
+        List<Integer> deletedIds = new ArrayList<>();
+        BookDelta delta;
+        long since = watermark;
+        do {
+            delta = bookService.getChangesSince(since, 2);
+            assertThat(delta.books().size() + delta.deletedIds().size()).isLessThanOrEqualTo(2);
+            delta.books().forEach(book -> changedIds.add(book.id()));
+            deletedIds.addAll(delta.deletedIds());
+            since = delta.watermark();
+        } while (delta.hasMore());
+
+        assertThat(changedIds).containsExactlyElementsOf(created.subList(2, 5));
+        assertThat(deletedIds).containsExactlyInAnyOrderElementsOf(created.subList(0, 2));
+        bookBulkService.deleteBooks(created.subList(2, 5));
+    }
+
+    @Test
+    @DisplayName("Given: an open write below a committed one, When: getChangesSince, Then: watermark stays behind it until it commits")
+    void watermarkWaitsForWritesInFlight() throws Exception {
+        CountDownLatch flushed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> slow = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Integer id = bookRepository.saveAndFlush(MockBook.mockBook(null)).getId();
+            flushed.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return id;
+        }));
+        assertThat(flushed.await(5, TimeUnit.SECONDS)).isTrue();
+        BookDTO fast = create("Delta Fast");
+
+        BookDelta duringWrite = bookService.getChangesSince(watermark, 100);
+        release.countDown();
+        Integer slowId = slow.get(5, TimeUnit.SECONDS);
+        BookDelta afterCommit = bookService.getChangesSince(duringWrite.watermark(), 100);
+
+        assertThat(duringWrite.books()).extracting(BookDTO::id).doesNotContain(fast.id(), slowId);
+        assertThat(afterCommit.books()).extracting(BookDTO::id).containsExactly(slowId, fast.id());
+        bookBulkService.deleteBooks(List.of(slowId, fast.id()));
+    }
+
+    @Test
+    @DisplayName("Given: change watermark, When: explain delta queries, Then: both use their change_seq index")
+    void deltaQueriesUseIndexes() {
+        assertThat(String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM Book WHERE change_seq > ? ORDER BY change_seq LIMIT 10", String.class, 0)))
+                .contains("BOOK_CHANGE_SEQ_IDX");
+        assertThat(String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM book_tombstone WHERE change_seq > ? ORDER BY change_seq LIMIT 10", String.class, 0)))
+                .contains("BOOK_TOMBSTONE_CHANGE_SEQ_IDX");
+    }
+
+    private BookDTO create(String title) {
+        return bookService.createBook(MockBook.mockBookDTO(null, title, "Delta Author", 2010)).orElseThrow();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.Book.Store.Application.repository;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.BookSlice;
+import com.example.Book.Store.Application.exception.InvalidRequestException;
+import com.example.Book.Store.Application.mock.MockBook;
+import com.example.Book.Store.Application.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class BookIndexQueryTest {
+    private static final String AUTHOR = "Indexed Author";
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Integer> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 7; i++) {
+            ids.add(bookService.createBook(MockBook.mockBookDTO(null, "Indexed Title " + (i % 3), AUTHOR, 3000 + i % 4))
+                    .orElseThrow()
+                    .id());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ids.forEach(bookService::deleteBook);
+    }
+
+    @Test
+    @DisplayName("Given: author filter, When: explain, Then: plan uses book_author_idx")
+    void authorQueryUsesIndex() {
+        assertThat(explain("select id from Book where book_author = ? and id > ? order by id limit 10", AUTHOR, 0))
+                .contains("BOOK_AUTHOR_IDX");
+    }
+
+    @Test
+    @DisplayName("Given: year range filter, When: explain, Then: plan uses book_year_idx")
+    void yearRangeQueryUsesIndex() {
+        assertThat(explain("select id from Book where book_year >= ? and book_year <= ? and (book_year > ? or id > ?)"
+                + " order by book_year, id limit 10", 3000, 3003, 3000, 0))
+                .contains("BOOK_YEAR_IDX");
+    }
+
+    @Test
+    @DisplayName("Given: title prefix filter, When: explain, Then: plan uses book_title_idx")
+    void titlePrefixQueryUsesIndex() {
+        assertThat(explain("select id from Book where book_title >= ? and book_title < ? and (book_title > ? or id > ?)"
+                + " order by book_title, id limit 10", "Indexed", "Indexed" + Character.MAX_VALUE, "Indexed", 0))
+                .contains("BOOK_TITLE_IDX");
+    }
+
+    @Test
+    @DisplayName("Given: 7 books of one author, When: page by author with size 3, Then: all ids in id order and no cursor after last page")
+    void getBooksByAuthorPages() {
+        List<BookDTO> books = readAll(cursor -> bookService.getBooksByAuthor(AUTHOR, cursor, 3));
+
+        assertThat(books).extracting(BookDTO::id).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    @DisplayName("Given: books over years 3000..3003, When: page by year 3001..3002 with size 2, Then: only that range ordered by year and id")
+    void getBooksByYearRangePages() {
+        List<BookDTO> books = readAll(cursor -> bookService.getBooksByYearRange(3001, 3002, cursor, 2));
+
+        assertThat(books).extracting(BookDTO::bookYear).containsExactly(3001, 3001, 3002, 3002);
+        assertThat(books).extracting(BookDTO::id).containsExactly(ids.get(1), ids.get(5), ids.get(2), ids.get(6));
+    }
+
+    @Test
+    @DisplayName("Given: titles sharing a prefix, When: page by title prefix with size 2, Then: ordered by title and id")
+    void getBooksByTitlePrefixPages() {
+        List<BookDTO> books = readAll(cursor -> bookService.getBooksByTitlePrefix("Indexed Title", cursor, 2));
+
+        assertThat(books).extracting(BookDTO::id)
+                .containsExactly(ids.get(0), ids.get(3), ids.get(6), ids.get(1), ids.get(4), ids.get(2), ids.get(5));
+        assertThat(bookService.getBooksByTitlePrefix("indexed", null, 10).books()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given: malformed cursor or empty range, When: query, Then: InvalidRequestException")
+    void invalidArguments() {
+        assertThatThrownBy(() -> bookService.getBooksByAuthor(AUTHOR, "not a cursor", 3))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> bookService.getBooksByYearRange(3002, 3001, null, 3))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private static List<BookDTO> readAll(Function<String, BookSlice> query) {
+        List<BookDTO> books = new ArrayList<>();
+        String cursor = null;
+        do {
+            BookSlice slice = query.apply(cursor);
+            books.addAll(slice.books());
+            cursor = slice.nextCursor();
+        } while (cursor != null);
+        return books;
+    }
+
+    private String explain(String sql, Object... args) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class, args));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.Book.Store.Application.search;
+
+import com.example.Book.Store.Application.dto.SearchHit;
+import com.example.Book.Store.Application.dto.SearchResult;
+import com.example.Book.Store.Application.mock.MockBook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookSearchIndexTest {
+    private final BookSearchIndex index = new BookSearchIndex(500);
+
+    @BeforeEach
+    void setUp() {
+        index.index(MockBook.mockBookDTO(1, "The Hobbit", "J. R. R. Tolkien", 1937));
+        index.index(MockBook.mockBookDTO(2, "The Lord of the Rings", "J. R. R. Tolkien", 1954));
+        index.index(MockBook.mockBookDTO(3, "Tolkien: A Biography", "Humphrey Carpenter", 1977));
+        index.index(MockBook.mockBookDTO(4, "Dune", "Frank Herbert", 1965));
+    }
+
+    @Test
+    @DisplayName("Given: title match, When: search, Then: title matches rank above author matches")
+    void searchRanksTitleAboveAuthor() {
+        SearchResult result = index.search("tolkien", 0, 10);
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.hits()).extracting(hit -> hit.book().id()).containsExactly(3, 1, 2);
+    }
+
+    @Test
+    @DisplayName("Given: several terms, When: search, Then: every term must match")
+    void searchRequiresAllTerms() {
+        SearchResult result = index.search("Tolkien rings", 0, 10);
+
+        assertThat(result.hits()).extracting(hit -> hit.book().id()).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Given: partial last word, When: search, Then: prefix matches are returned")
+    void searchMatchesPrefix() {
+        SearchResult result = index.search("lord of the ri", 0, 10);
+
+        assertThat(result.hits()).extracting(hit -> hit.book().id()).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Given: typo, When: search, Then: terms within one edit match with a lower score")
+    void searchToleratesTypos() {
+        SearchHit exact = index.search("hobbit", 0, 10).hits().get(0);
+        SearchHit transposed = index.search("hobibt", 0, 10).hits().get(0);
+
+        assertThat(index.search("hobit", 0, 10).hits()).extracting(hit -> hit.book().id()).containsExactly(1);
+        assertThat(index.search("hobbbit", 0, 10).hits()).extracting(hit -> hit.book().id()).containsExactly(1);
+        assertThat(index.search("dume", 0, 10).hits()).extracting(hit -> hit.book().id()).containsExactly(4);
+        assertThat(transposed.book().id()).isEqualTo(1);
+        assertThat(transposed.score()).isLessThan(exact.score());
+        assertThat(index.search("hbbt", 0, 10).hits()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given: accents and punctuation, When: search, Then: they are ignored")
+    void searchNormalizesText() {
+        index.index(MockBook.mockBookDTO(5, "Les Misérables", "Victor Hugo", 1862));
+
+        assertThat(index.search("MISERABLES!", 0, 10).hits()).extracting(hit -> hit.book().id()).containsExactly(5);
+    }
+
+    @Test
+    @DisplayName("Given: more hits than page size, When: search pages, Then: pages do not overlap")
+    void searchPaginates() {
+        SearchResult first = index.search("tolkien", 0, 2);
+        SearchResult second = index.search("tolkien", 1, 2);
+
+        assertThat(first.total()).isEqualTo(3);
+        assertThat(first.hits()).extracting(hit -> hit.book().id()).containsExactly(3, 1);
+        assertThat(second.hits()).extracting(hit -> hit.book().id()).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Given: updated and removed books, When: search, Then: old terms no longer match")
+    void indexReplacesAndRemoves() {
+        index.index(MockBook.mockBookDTO(4, "Children of Dune", "Frank Herbert", 1976));
+        index.remove(1);
+
+        assertThat(index.search("children", 0, 10).hits()).extracting(hit -> hit.book().id()).containsExactly(4);
+        assertThat(index.search("hobbit", 0, 10).total()).isZero();
+        assertThat(index.contains(1)).isFalse();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Given: string pairs, When: withinOneEdit, Then: only distance one or less matches")
+    void withinOneEdit() {
+        assertThat(BookSearchIndex.withinOneEdit("dune", "dune")).isTrue();
+        assertThat(BookSearchIndex.withinOneEdit("dune", "dine")).isTrue();
+        assertThat(BookSearchIndex.withinOneEdit("dune", "dnue")).isTrue();
+        assertThat(BookSearchIndex.withinOneEdit("dune", "dunes")).isTrue();
+        assertThat(BookSearchIndex.withinOneEdit("dune", "une")).isTrue();
+        assertThat(BookSearchIndex.withinOneEdit("dune", "udne")).isTrue();
+        assertThat(BookSearchIndex.withinOneEdit("dune", "edun")).isFalse();
+        assertThat(BookSearchIndex.withinOneEdit("dune", "dn")).isFalse();
+    }
+}
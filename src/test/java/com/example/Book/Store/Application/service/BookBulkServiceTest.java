@@ -0,0 +1,137 @@
+package com.example.Book.Store.Application.service;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.BulkItemResult;
+import com.example.Book.Store.Application.dto.BulkItemStatus;
+import com.example.Book.Store.Application.dto.BulkResult;
+import com.example.Book.Store.Application.event.BookChangeType;
+import com.example.Book.Store.Application.event.BookChangedEvent;
+import com.example.Book.Store.Application.exception.InvalidRequestException;
+import com.example.Book.Store.Application.mock.MockBook;
+import com.example.Book.Store.Application.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"book.bulk.batch-size=2", "book.bulk.max-items=5"})
+@RecordApplicationEvents
+class BookBulkServiceTest {
+    @Autowired
+    private BookBulkService bookBulkService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private final List<Integer> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAllByIdInBatch(createdIds);
+    }
+
+    @Test
+    @DisplayName("Given: valid and invalid books, When: createBooks, Then: valid books are created and invalid are rejected")
+    void createBooks() {
+        List<BookDTO> bookDTOs = List.of(
+                MockBook.mockBookDTO(null, "Bulk Title 1", "Bulk Author 1", 2001),
+                MockBook.mockBookDTO(null, null, "Bulk Author 2", 2002),
+                MockBook.mockBookDTO(null, "Bulk Title 3", "Bulk Author 3", 2003),
+                MockBook.mockBookDTO(null, "Bulk Title 4", "Bulk Author 4", 2004));
+
+        BulkResult bulkResult = bookBulkService.createBooks(bookDTOs);
+        collectIds(bulkResult);
+
+        assertThat(bulkResult.succeeded()).isEqualTo(3);
+        assertThat(bulkResult.rejected()).isEqualTo(1);
+        assertThat(bulkResult.items()).extracting(BulkItemResult::status).containsExactly(
+                BulkItemStatus.CREATED, BulkItemStatus.REJECTED, BulkItemStatus.CREATED, BulkItemStatus.CREATED);
+        assertThat(bulkResult.items().get(1).error()).isEqualTo("bookTitle: BookTitle is required");
+        assertThat(bookRepository.findAllById(createdIds)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Given: chunk with one row the database refuses, When: createBooks, Then: only that row is rejected")
+    void createBooksIsolatesFailingRow() {
+        List<BookDTO> bookDTOs = List.of(
+                MockBook.mockBookDTO(null, "Bulk Title 5", "Bulk Author 5", 2005),
+                MockBook.mockBookDTO(null, "T".repeat(80), "Bulk Author 6", 2006));
+
+        BulkResult bulkResult = bookBulkService.createBooks(bookDTOs);
+        collectIds(bulkResult);
+
+        assertThat(bulkResult.items()).extracting(BulkItemResult::status)
+                .containsExactly(BulkItemStatus.CREATED, BulkItemStatus.REJECTED);
+        assertThat(bulkResult.items().get(1).error()).isNotBlank();
+        assertThat(bookRepository.findById(bulkResult.items().get(0).id())).isPresent();
+    }
+
+    @Test
+    @DisplayName("Given: existing and missing ids, When: updateBooks, Then: existing books are updated and missing are rejected")
+    void updateBooks() {
+        BulkResult created = bookBulkService.createBooks(List.of(
+                MockBook.mockBookDTO(null, "Bulk Title 7", "Bulk Author 7", 2007)));
+        collectIds(created);
+        Integer id = created.items().get(0).id();
+
+        BulkResult bulkResult = bookBulkService.updateBooks(List.of(
+                MockBook.mockBookDTO(id, "Bulk Title 7 Updated", "Bulk Author 7", 2017),
+                MockBook.mockBookDTO(999_999, "Missing", "Missing", 2000),
+                MockBook.mockBookDTO(null, "No Id", "No Id", 2000)));
+
+        assertThat(bulkResult.items()).extracting(BulkItemResult::status).containsExactly(
+                BulkItemStatus.UPDATED, BulkItemStatus.REJECTED, BulkItemStatus.REJECTED);
+        assertThat(bulkResult.items().get(1).error()).isEqualTo("Book Id With 999999 not found");
+        assertThat(bookRepository.findById(id)).get()
+                .satisfies(book -> assertThat(book.getBookTitle()).isEqualTo("Bulk Title 7 Updated"));
+        assertThat(applicationEvents.stream(BookChangedEvent.class).filter(event -> event.type() == BookChangeType.UPDATED))
+                .singleElement()
+                .satisfies(event -> assertThat(event.book().version())
+                        .isEqualTo(bookRepository.findById(id).orElseThrow().getVersion()));
+    }
+
+    @Test
+    @DisplayName("Given: existing and missing ids, When: deleteBooks, Then: existing books are deleted and missing are rejected")
+    void deleteBooks() {
+        BulkResult created = bookBulkService.createBooks(List.of(
+                MockBook.mockBookDTO(null, "Bulk Title 8", "Bulk Author 8", 2008)));
+        Integer id = created.items().get(0).id();
+
+        BulkResult bulkResult = bookBulkService.deleteBooks(List.of(id, 999_999));
+
+        assertThat(bulkResult.items()).extracting(BulkItemResult::status)
+                .containsExactly(BulkItemStatus.DELETED, BulkItemStatus.REJECTED);
+        assertThat(bookRepository.findById(id)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given: more items than allowed, When: createBooks, Then: throw InvalidRequestException")
+    void createBooksTooManyItems() {
+        List<BookDTO> bookDTOs = IntStream.range(0, 6)
+                .mapToObj(i -> MockBook.mockBookDTO(null, "Title", "Author " + i, 2000))
+                .toList();
+
+        assertThatThrownBy(() -> bookBulkService.createBooks(bookDTOs))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Bulk request has 6 items, maximum is 5");
+    }
+
+    private void collectIds(BulkResult bulkResult) {
+        bulkResult.items().stream()
+                .filter(item -> item.status() == BulkItemStatus.CREATED)
+                .forEach(item -> createdIds.add(item.id()));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.Book.Store.Application.service;
+
+import com.example.Book.Store.Application.cache.BookCache;
+import com.example.Book.Store.Application.dto.BookCreation;
+import com.example.Book.Store.Application.dto.BookCreationStatus;
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.exception.ServiceBusyException;
+import com.example.Book.Store.Application.mapper.Mapper;
+import com.example.Book.Store.Application.mock.MockBook;
+import com.example.Book.Store.Application.model.Book;
+import com.example.Book.Store.Application.repository.BookRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+        "book.create.group-commit.enabled=true",
+        "book.create.group-commit.batch-size=4",
+        "book.create.group-commit.max-wait=50ms"})
+class BookCreateQueueTest {
+    @Autowired
+    private BookCreateQueue bookCreateQueue;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Mapper<Book, BookDTO> mapper;
+
+    @Autowired
+    private BookCache bookCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final List<Integer> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAllByIdInBatch(createdIds);
+    }
+
+    @Test
+    @DisplayName("Given: concurrent creates, When: createAndWait, Then: every book is saved and groups are at most batch-size")
+    void createAndWaitGroupsCreates() {
+        List<CompletableFuture<BookDTO>> futures = IntStream.range(0, 10)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> bookCreateQueue.createAndWait(
+                        MockBook.mockBookDTO(null, "Queued Title " + i, "Queued Author", 2000 + i))))
+                .toList();
+        List<BookDTO> createdBooks = futures.stream().map(CompletableFuture::join).toList();
+        createdBooks.forEach(bookDTO -> createdIds.add(bookDTO.id()));
+
+        assertThat(createdBooks).extracting(BookDTO::id).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(bookRepository.findAllById(createdIds)).hasSize(10);
+        assertThat(meterRegistry.get("book.create.group.size").summary().max()).isLessThanOrEqualTo(4);
+        assertThat(meterRegistry.get("book.create.commit").timer().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Given: valid and oversized book, When: submit, Then: handles report created and failed")
+    void submitReportsOutcomeByHandle() {
+        BookCreation valid = bookCreateQueue.submit(MockBook.mockBookDTO(null, "Queued Title", "Queued Author", 2024));
+        BookCreation invalid = bookCreateQueue.submit(MockBook.mockBookDTO(null, "T".repeat(80), "Queued Author", 2024));
+
+        assertThat(valid.status()).isEqualTo(BookCreationStatus.PENDING);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(bookCreateQueue.getCreation(valid.handle()))
+                    .hasValueSatisfying(creation -> assertThat(creation.status()).isEqualTo(BookCreationStatus.CREATED));
+            assertThat(bookCreateQueue.getCreation(invalid.handle()))
+                    .hasValueSatisfying(creation -> assertThat(creation.status()).isEqualTo(BookCreationStatus.FAILED));
+        });
+        createdIds.add(bookCreateQueue.getCreation(valid.handle()).orElseThrow().book().id());
+        assertThat(bookCreateQueue.getCreation(invalid.handle()).orElseThrow().error()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Given: group commit that does not finish, When: createAndWait, Then: ServiceBusyException after wait-timeout")
+    void createAndWaitIsBounded() {
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate stalled = new TransactionTemplate() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("Released");
+            }
+        };
+        BookCreateQueue stalledQueue = new BookCreateQueue(mapper, bookRepository, bookCache, stalled, eventPublisher,
+                meterRegistryProvider, true, 10, 1, Duration.ofMillis(1), Duration.ofMillis(50), Duration.ofSeconds(1),
+                Duration.ofMillis(100), Duration.ofMinutes(1), 100);
+        try {
+            assertThatThrownBy(() -> stalledQueue.createAndWait(MockBook.mockBookDTO(null, "Stalled Title", "Stalled Author", 2024)))
+                    .isInstanceOf(ServiceBusyException.class)
+                    .hasMessageContaining("did not commit");
+        } finally {
+            release.countDown();
+            stalledQueue.destroy();
+        }
+    }
+}
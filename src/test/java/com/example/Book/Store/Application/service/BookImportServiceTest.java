@@ -0,0 +1,68 @@
+package com.example.Book.Store.Application.service;
+
+import com.example.Book.Store.Application.dto.ImportRejection;
+import com.example.Book.Store.Application.dto.ImportReport;
+import com.example.Book.Store.Application.importer.ImportFormat;
+import com.example.Book.Store.Application.repository.BookRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"book.import.batch-size=2", "book.import.max-reported-rejections=1"})
+class BookImportServiceTest {
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    @DisplayName("Given: ndjson upload with bad rows, When: importBooks, Then: import valid rows and report rejected lines")
+    void importNdjson() throws Exception {
+        long countBefore = bookRepository.count();
+        String ndjson = """
+                {"bookTitle":"Import Title 1","bookAuthor":"Import Author 1","bookYear":2001}
+                {"bookTitle":"Import Title 2","bookAuthor":"Import Author 2"}
+                not json
+                {"bookTitle":"Import Title 3","bookAuthor":"Import Author 3","bookYear":2003}
+                """;
+
+        ImportReport importReport = bookImportService.importBooks(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ImportFormat.NDJSON);
+
+        assertThat(importReport.rowsRead()).isEqualTo(4);
+        assertThat(importReport.imported()).isEqualTo(2);
+        assertThat(importReport.rejected()).isEqualTo(2);
+        assertThat(importReport.rejections()).containsExactly(ImportRejection.builder()
+                .line(2)
+                .error("bookYear: Book Year is required")
+                .build());
+        assertThat(importReport.rejectionsTruncated()).isTrue();
+        assertThat(bookRepository.count()).isEqualTo(countBefore + 2);
+    }
+
+    @Test
+    @DisplayName("Given: csv upload, When: importBooks, Then: import all rows")
+    void importCsv() throws Exception {
+        long countBefore = bookRepository.count();
+        String csv = """
+                bookTitle,bookAuthor,bookYear
+                Import Title 4,Import Author 4,2004
+                Import Title 5,Import Author 5,2005
+                Import Title 6,Import Author 6,2006
+                """;
+
+        ImportReport importReport = bookImportService.importBooks(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+        assertThat(importReport.imported()).isEqualTo(3);
+        assertThat(importReport.rejected()).isZero();
+        assertThat(bookRepository.count()).isEqualTo(countBefore + 3);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.Book.Store.Application.service;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.BulkResult;
+import com.example.Book.Store.Application.exception.InvalidRequestException;
+import com.example.Book.Store.Application.mock.MockBook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class BookSearchServiceTest {
+    @Autowired
+    private BookSearchService bookSearchService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookBulkService bookBulkService;
+
+    @Test
+    @DisplayName("Given: seeded books, When: application is ready, Then: they are searchable")
+    void searchSeededBooks() {
+        assertThat(bookSearchService.search("gatsby", 0, 10).hits())
+                .extracting(hit -> hit.book().bookAuthor())
+                .containsExactly("F. Scott Fitzgerald");
+    }
+
+    @Test
+    @DisplayName("Given: create, update and delete, When: search, Then: index follows the writes")
+    void searchFollowsWrites() {
+        BookDTO created = bookService.createBook(MockBook.mockBookDTO(null, "Searchable Quixote", "Search Cervantes", 1605)).orElseThrow();
+        assertThat(bookSearchService.search("quixote", 0, 10).hits())
+                .extracting(hit -> hit.book().id())
+                .containsExactly(created.id());
+
+        bookService.updateBook(created.id(), MockBook.mockBookDTO(null, "Searchable Hamlet", "Search Cervantes", 1605)).orElseThrow();
+        assertThat(bookSearchService.search("quixote", 0, 10).total()).isZero();
+        assertThat(bookSearchService.search("hamlet", 0, 10).total()).isEqualTo(1);
+
+        bookService.deleteBook(created.id());
+        assertThat(bookSearchService.search("hamlet", 0, 10).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("Given: bulk create and delete, When: search, Then: index follows committed chunks")
+    void searchFollowsBulkWrites() {
+        BulkResult created = bookBulkService.createBooks(List.of(
+                MockBook.mockBookDTO(null, "Bulk Searchable Odyssey", "Bulk Search Homer", 800)));
+        Integer id = created.items().get(0).id();
+        assertThat(bookSearchService.search("odyssey", 0, 10).total()).isEqualTo(1);
+
+        bookBulkService.deleteBooks(List.of(id));
+        assertThat(bookSearchService.search("odyssey", 0, 10).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("Given: blank query, When: search, Then: throw InvalidRequestException")
+    void searchBlankQuery() {
+        assertThatThrownBy(() -> bookSearchService.search(" ", 0, 10))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+}
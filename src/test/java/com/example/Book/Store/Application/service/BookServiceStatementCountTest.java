@@ -0,0 +1,151 @@
+package com.example.Book.Store.Application.service;
+
+import com.example.Book.Store.Application.cache.BookCache;
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.exception.PreconditionFailedException;
+import com.example.Book.Store.Application.mock.MockBook;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionEventListener;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Statements are counted per thread, as work on other threads would change a
+ * factory-wide count; entity loads and flushes come from the factory-wide
+ * statistics, so the features that use JPA in the background are kept off.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session.events.auto="
+                + "com.example.Book.Store.Application.service.BookServiceStatementCountTest$ThreadStatementCounter",
+        "book.snapshot.enabled=false",
+        "book.response-cache.enabled=false",
+        "book.create.group-commit.enabled=false"})
+class BookServiceStatementCountTest {
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookCache bookCache;
+
+    private Statistics statistics;
+
+    private Integer id;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        id = bookService.createBook(MockBook.mockBookDTO(null, "Counted Title", "Counted Author " + System.nanoTime() % 100_000, 2020))
+                .orElseThrow()
+                .id();
+        statistics.clear();
+        ThreadStatementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("Given: existing id, When: updateBook, Then: one statement")
+    void updateBookIssuesOneStatement() {
+        BookDTO updated = bookService.updateBook(id, MockBook.mockBookDTO(null, "Counted Title 2", "Counted Author", 2021)).orElseThrow();
+
+        assertThat(ThreadStatementCounter.prepared()).isEqualTo(1);
+        assertThat(updated.bookTitle()).isEqualTo("Counted Title 2");
+        bookService.deleteBook(id);
+    }
+
+    @Test
+    @DisplayName("Given: current expected version, When: updateBook, Then: one statement and next version")
+    void updateBookWithVersionIssuesOneStatement() {
+        BookDTO updated = bookService.updateBook(id, MockBook.mockBookDTO(null, "Counted Title 2", "Counted Author", 2021), 0L).orElseThrow();
+
+        assertThat(ThreadStatementCounter.prepared()).isEqualTo(1);
+        assertThat(updated.version()).isEqualTo(1L);
+        assertThat(bookService.updateBook(id, MockBook.mockBookDTO(null, "Counted Title 3", "Counted Author", 2021), 1L)).isPresent();
+        bookService.deleteBook(id);
+    }
+
+    @Test
+    @DisplayName("Given: stale expected version, When: updateBook, Then: update plus existence check")
+    void updateBookWithStaleVersionIssuesTwoStatements() {
+        assertThatThrownBy(() -> bookService.updateBook(id, MockBook.mockBookDTO(null, "Counted Title 2", "Counted Author", 2021), 7L))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        assertThat(ThreadStatementCounter.prepared()).isEqualTo(2);
+        bookService.deleteBook(id);
+    }
+
+    @Test
+    @DisplayName("Given: missing id, When: updateBook, Then: one statement and empty")
+    void updateBookNotFoundIssuesOneStatement() {
+        assertThat(bookService.updateBook(999_999, MockBook.mockBookDTO())).isEmpty();
+
+        assertThat(ThreadStatementCounter.prepared()).isEqualTo(1);
+        bookService.deleteBook(id);
+    }
+
+    @Test
+    @DisplayName("Given: existing and missing id, When: deleteBook, Then: one statement each")
+    void deleteBookIssuesOneStatement() {
+        assertThat(bookService.deleteBook(id)).isTrue();
+        assertThat(ThreadStatementCounter.prepared()).isEqualTo(1);
+
+        assertThat(bookService.deleteBook(id)).isFalse();
+        assertThat(ThreadStatementCounter.prepared()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Given: uncached id, When: getBookById, Then: one query and no entity loaded or flushed")
+    void getBookByIdProjectsWithoutEntities() {
+        bookCache.evict(id);
+
+        assertThat(bookService.getBookById(id)).get().extracting(BookDTO::version).isEqualTo(0L);
+
+        assertThat(ThreadStatementCounter.prepared()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getFlushCount()).isZero();
+        bookService.deleteBook(id);
+    }
+
+    @Test
+    @DisplayName("Given: uncached ids, When: getBookByIds and getAllBooks, Then: no entity loaded or flushed")
+    void getBookByIdsAndAllBooksProjectWithoutEntities() {
+        bookCache.evictAll();
+
+        assertThat(bookService.getBookByIds(List.of(id, 999_999))).extracting(BookDTO::id).containsExactly(id);
+        assertThat(bookService.getAllBooks()).extracting(BookDTO::id).contains(id);
+
+        assertThat(ThreadStatementCounter.prepared()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getFlushCount()).isZero();
+        bookService.deleteBook(id);
+    }
+
+    public static class ThreadStatementCounter implements SessionEventListener {
+        private static final ThreadLocal<int[]> PREPARED = ThreadLocal.withInitial(() -> new int[1]);
+
+        @Override
+        public void jdbcPrepareStatementStart() {
+            PREPARED.get()[0]++;
+        }
+
+        static int prepared() {
+            return PREPARED.get()[0];
+        }
+
+        static void reset() {
+            PREPARED.get()[0] = 0;
+        }
+    }
+}
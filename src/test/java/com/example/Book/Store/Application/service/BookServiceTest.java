@@ -1,31 +1,48 @@
 package com.example.Book.Store.Application.service;
 
+import com.example.Book.Store.Application.cache.BookCache;
+import com.example.Book.Store.Application.cache.CatalogueVersion;
+import com.example.Book.Store.Application.config.BookLookupExecutor;
 import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.dto.BookPage;
+import com.example.Book.Store.Application.exception.InvalidRequestException;
+import com.example.Book.Store.Application.exception.PreconditionFailedException;
 import com.example.Book.Store.Application.mapper.BookMapper;
 import com.example.Book.Store.Application.mapper.Mapper;
 import com.example.Book.Store.Application.mock.MockBook;
 import com.example.Book.Store.Application.model.Book;
 import com.example.Book.Store.Application.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.Collections;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
-@ContextConfiguration(classes = {BookService.class, BookMapper.class})
+@ContextConfiguration(classes = {BookService.class, BookMapper.class, BookCache.class, BookLookupExecutor.class, CatalogueVersion.class,
+        BookSnapshotService.class})
+@TestPropertySource(properties = {"book.multi-get.max-ids=5", "book.multi-get.chunk-size=2"})
 class BookServiceTest {
     @Autowired
     private BookService bookService;
@@ -36,29 +53,53 @@ class BookServiceTest {
     @SpyBean
     private Mapper<Book, BookDTO> mapper;
 
+    @Autowired
+    private BookCache bookCache;
+
+    @BeforeEach
+    void setUp() {
+        bookCache.evictAll();
+    }
+
     @Test
     @DisplayName("Given: id valid, When: getBookById, Then: return bookDTO")
     void getBookById() {
         BookDTO expectedBookDTO = MockBook.mockBookDTO(1, "Title", "Author", 2024);
-        when(bookRepository.findById(anyInt()))
-                .thenReturn(Optional.of(MockBook.mockBook(1)));
+        when(bookRepository.findDtoById(anyInt()))
+                .thenReturn(Optional.of(MockBook.mockBookDTO(1, "Title", "Author", 2024)));
 
         Optional<BookDTO> resultBookDTO = bookService.getBookById(1);
 
-        verify(bookRepository).findById(1);
-        verify(mapper).mapToDTO(any(Book.class));
+        verify(bookRepository).findDtoById(1);
+        verify(bookRepository, never()).findById(anyInt());
+        verify(mapper, never()).mapToDTO(any(Book.class));
         assertThat(resultBookDTO).isEqualTo(Optional.of(expectedBookDTO));
     }
 
+    @Test
+    @DisplayName("Given: id already read, When: getBookById, Then: return cached bookDTO without repository call")
+    void getBookByIdCached() {
+        when(bookRepository.findDtoById(anyInt()))
+                .thenReturn(Optional.of(MockBook.mockBookDTO(1, "Title", "Author", 2024)));
+
+        bookService.getBookById(1);
+        long hitCount = bookCache.stats().hitCount();
+        Optional<BookDTO> resultBookDTO = bookService.getBookById(1);
+
+        verify(bookRepository, times(1)).findDtoById(1);
+        assertThat(resultBookDTO).isEqualTo(Optional.of(MockBook.mockBookDTO(1, "Title", "Author", 2024)));
+        assertThat(bookCache.stats().hitCount()).isEqualTo(hitCount + 1);
+    }
+
     @Test
     @DisplayName("Given: id not found, When: getBookById, Then: return optional empty")
     void getBookByIdNotFound() {
-        when(bookRepository.findById(anyInt()))
+        when(bookRepository.findDtoById(anyInt()))
                 .thenReturn(Optional.empty());
 
         Optional<BookDTO> resultBookDTO = bookService.getBookById(999);
 
-        verify(bookRepository).findById(999);
+        verify(bookRepository).findDtoById(999);
         verify(mapper, never()).mapToDTO(any(Book.class));
         assertThat(resultBookDTO).isEmpty();
     }
@@ -67,13 +108,13 @@ class BookServiceTest {
     @DisplayName("Given: -, When: getAllBooks, Then: return bookDTO")
     void getAllBooks() {
         List<BookDTO> expectedBookDTOList = List.of(MockBook.mockBookDTO(1, "Title", "Author", 2024));
-        when(bookRepository.findAll())
-                .thenReturn(List.of(MockBook.mockBook(1)));
+        when(bookRepository.findAllDtos())
+                .thenReturn(List.of(MockBook.mockBookDTO(1, "Title", "Author", 2024)));
 
         List<BookDTO> resultBookDTOList = bookService.getAllBooks();
 
-        verify(bookRepository).findAll();
-        verify(mapper).mapToDTO(any(Book.class));
+        verify(bookRepository).findAllDtos();
+        verify(mapper, never()).mapToDTO(any(Book.class));
         assertThat(resultBookDTOList).isEqualTo(expectedBookDTOList);
     }
 
@@ -81,29 +122,81 @@ class BookServiceTest {
     @DisplayName("Given: ids valid, When: getBookByIds, Then: return bookDTO list")
     void getBookByIds() {
         List<BookDTO> expectedBookDTOList = List.of(MockBook.mockBookDTO(1, "Title", "Author", 2024));
-        when(bookRepository.findAllById(anyList()))
-                .thenReturn(List.of(MockBook.mockBook(1)));
+        when(bookRepository.findDtosByIdIn(anyList()))
+                .thenReturn(List.of(MockBook.mockBookDTO(1, "Title", "Author", 2024)));
 
         List<BookDTO> resultBookDTOList = bookService.getBookByIds(List.of(1));
 
-        verify(bookRepository).findAllById(List.of(1));
-        verify(mapper).mapToDTO(any(Book.class));
+        verify(bookRepository).findDtosByIdIn(List.of(1));
+        verify(mapper, never()).mapToDTO(any(Book.class));
         assertThat(resultBookDTOList).isEqualTo(expectedBookDTOList);
     }
 
     @Test
     @DisplayName("Given: ids not found, When: getBookByIds, Then: return empty bookDTO list")
     void getBookByIdsNotFound() {
-        when(bookRepository.findAllById(anyList()))
+        when(bookRepository.findDtosByIdIn(anyList()))
                 .thenReturn(Collections.emptyList());
 
         List<BookDTO> resultBookDTOList = bookService.getBookByIds(List.of(999));
 
-        verify(bookRepository).findAllById(List.of(999));
+        verify(bookRepository).findDtosByIdIn(List.of(999));
         verify(mapper, never()).mapToDTO(any(Book.class));
         assertThat(resultBookDTOList).isEmpty();
     }
 
+    @Test
+    @DisplayName("Given: full page, When: getBookPage, Then: return bookDTO page with next cursor")
+    void getBookPage() {
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(anyInt(), any(Limit.class)))
+                .thenReturn(List.of(MockBook.mockBook(2)));
+
+        BookPage resultBookPage = bookService.getBookPage(1, 1);
+
+        verify(bookRepository).findByIdGreaterThanOrderByIdAsc(1, Limit.of(1));
+        assertThat(resultBookPage.books()).containsExactly(MockBook.mockBookDTO(2, "Title", "Author", 2024));
+        assertThat(resultBookPage.nextCursor()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Given: last page, When: getBookPage, Then: return bookDTO page without next cursor")
+    void getBookPageLast() {
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(anyInt(), any(Limit.class)))
+                .thenReturn(List.of(MockBook.mockBook(2)));
+
+        BookPage resultBookPage = bookService.getBookPage(1, 10);
+
+        assertThat(resultBookPage.books()).hasSize(1);
+        assertThat(resultBookPage.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Given: duplicate, null and cached ids, When: getBookByIds, Then: query each uncached id once and keep request order")
+    void getBookByIdsDistinctAndOrdered() {
+        bookCache.put(MockBook.mockBookDTO(3, "Title", "Author", 2024));
+        when(bookRepository.findDtosByIdIn(anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<Integer>>getArgument(0).stream()
+                        .map(id -> MockBook.mockBookDTO(id, "Title", "Author", 2024))
+                        .toList());
+
+        List<BookDTO> resultBookDTOList = bookService.getBookByIds(Arrays.asList(2, 1, null, 3, 2, 4, 1, 5));
+
+        verify(bookRepository).findDtosByIdIn(List.of(2, 1));
+        verify(bookRepository).findDtosByIdIn(List.of(4, 5));
+        assertThat(resultBookDTOList).extracting(BookDTO::id).containsExactly(2, 1, 3, 4, 5);
+    }
+
+    @Test
+    @DisplayName("Given: more distinct ids than allowed, When: getBookByIds, Then: throw InvalidRequestException")
+    void getBookByIdsTooMany() {
+        List<Integer> ids = IntStream.rangeClosed(1, 6).boxed().toList();
+
+        assertThatThrownBy(() -> bookService.getBookByIds(ids))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Too many ids: 6, maximum is 5");
+        verifyNoInteractions(bookRepository);
+    }
+
     @Test
     @DisplayName("Given: book, When: createBook, Then: return bookDTO")
     void createBook() {
@@ -119,25 +212,101 @@ class BookServiceTest {
     }
 
     @Test
-    @DisplayName("Given: id and book, When updateBook, Then: return bookDTO")
+    @DisplayName("Given: id and book, When updateBook, Then: one conditional update and return bookDTO")
     void updateBook() {
-        when(bookRepository.findById(anyInt())).thenReturn(Optional.of(MockBook.mockBook(1)));
-        when(bookRepository.save(any(Book.class))).thenReturn(MockBook.mockBook(1));
+        when(bookRepository.updateIfVersion(eq(1), any(Book.class), isNull())).thenReturn(1);
 
         Optional<BookDTO> expectedBookDTO = Optional.of(MockBook.mockBookDTO(1, "Title", "Author", 2024));
         Optional<BookDTO> resultBookDTO = bookService.updateBook(1, expectedBookDTO.get());
 
-        verify(bookRepository).save(any(Book.class));
-        verify(mapper).mapToDTO(any(Book.class));
+        verify(bookRepository).updateIfVersion(eq(1), any(Book.class), isNull());
+        verify(bookRepository, never()).findById(anyInt());
+        verify(bookRepository, never()).save(any(Book.class));
         assertThat(resultBookDTO).isEqualTo(expectedBookDTO);
     }
 
     @Test
-    @DisplayName("Given: id, When: delete, Then: success delete")
+    @DisplayName("Given: id not found, When updateBook, Then: return empty")
+    void updateBookNotFound() {
+        when(bookRepository.updateIfVersion(eq(999), any(Book.class), isNull())).thenReturn(0);
+
+        assertThat(bookService.updateBook(999, MockBook.mockBookDTO())).isEmpty();
+        verify(bookRepository, never()).existsById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Given: cached id and expected version, When updateBook, Then: cached bookDTO is refreshed with next version")
+    void updateBookRefreshesCache() {
+        when(bookRepository.findDtoById(anyInt())).thenReturn(Optional.of(MockBook.mockBookDTO(1, "Title", "Author", 2024)));
+        when(bookRepository.updateIfVersion(eq(1), any(Book.class), eq(3L))).thenReturn(1);
+        bookService.getBookById(1);
+
+        bookService.updateBook(1, MockBook.mockBookDTO(1, "New Title", "Author", 2024), 3L);
+
+        assertThat(bookCache.getIfPresent(1)).map(BookDTO::bookTitle).contains("New Title");
+        assertThat(bookCache.getIfPresent(1)).map(BookDTO::version).contains(4L);
+    }
+
+    @Test
+    @DisplayName("Given: cached id without expected version, When updateBook, Then: cached bookDTO is evicted")
+    void updateBookWithoutVersionEvictsCache() {
+        when(bookRepository.findDtoById(anyInt())).thenReturn(Optional.of(MockBook.mockBookDTO(1, "Title", "Author", 2024)));
+        when(bookRepository.updateIfVersion(eq(1), any(Book.class), isNull())).thenReturn(1);
+        bookService.getBookById(1);
+
+        bookService.updateBook(1, MockBook.mockBookDTO(1, "New Title", "Author", 2024));
+
+        assertThat(bookCache.getIfPresent(1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given: id, When: delete, Then: one conditional delete")
     void deleteBook() {
-        when(bookRepository.findById(1)).thenReturn(Optional.of(MockBook.mockBook(1)));
+        when(bookRepository.deleteIfVersion(1, null)).thenReturn(1);
+
+        assertThat(bookService.deleteBook(1)).isTrue();
+
+        verify(bookRepository).deleteIfVersion(1, null);
+        verify(bookRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Given: id not found, When: delete, Then: return false")
+    void deleteBookNotFound() {
+        when(bookRepository.deleteIfVersion(999, null)).thenReturn(0);
+
+        assertThat(bookService.deleteBook(999)).isFalse();
+        verify(bookRepository, never()).existsById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Given: cached id, When: delete, Then: cached bookDTO is evicted")
+    void deleteBookEvictsCache() {
+        when(bookRepository.findDtoById(1)).thenReturn(Optional.of(MockBook.mockBookDTO(1, "Title", "Author", 2024)));
+        when(bookRepository.deleteIfVersion(1, null)).thenReturn(1);
+        bookService.getBookById(1);
+
         bookService.deleteBook(1);
 
-        verify(bookRepository).deleteById(1);
+        assertThat(bookCache.getIfPresent(1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given: stale expected version, When updateBook, Then: throw PreconditionFailedException")
+    void updateBookWithStaleVersion() {
+        when(bookRepository.updateIfVersion(eq(1), any(Book.class), eq(3L))).thenReturn(0);
+        when(bookRepository.existsById(1)).thenReturn(true);
+
+        assertThatThrownBy(() -> bookService.updateBook(1, MockBook.mockBookDTO(), 3L))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    @Test
+    @DisplayName("Given: expected version for missing id, When: delete, Then: return false")
+    void deleteBookWithVersionNotFound() {
+        when(bookRepository.deleteIfVersion(999, 3L)).thenReturn(0);
+        when(bookRepository.existsById(999)).thenReturn(false);
+
+        assertThat(bookService.deleteBook(999, 3L)).isFalse();
     }
 }
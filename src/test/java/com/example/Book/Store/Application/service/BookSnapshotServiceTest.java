@@ -0,0 +1,56 @@
+package com.example.Book.Store.Application.service;
+
+import com.example.Book.Store.Application.config.ReplicaRouting;
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.mock.MockBook;
+import com.example.Book.Store.Application.snapshot.BookColumns;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = "book.snapshot.enabled=true")
+class BookSnapshotServiceTest {
+    @Autowired
+    private BookSnapshotService bookSnapshotService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Test
+    @DisplayName("Given: loaded snapshot, When: a book is created and deleted, Then: listing version moves with the snapshot that holds the change")
+    void listingVersionFollowsPublishedSnapshot() {
+        BookColumns loaded = await().atMost(Duration.ofSeconds(5))
+                .until(() -> bookSnapshotService.current().orElse(null), snapshot -> snapshot != null);
+        assertThat(bookService.getListingVersion()).isEqualTo(loaded.version());
+
+        BookDTO created = bookService.createBook(MockBook.mockBookDTO(null, "Snapshot Title", "Snapshot Author", 2024)).orElseThrow();
+        try {
+            BookColumns patched = await().atMost(Duration.ofSeconds(5))
+                    .until(() -> bookSnapshotService.current().orElseThrow(),
+                            snapshot -> snapshot.all().stream().anyMatch(book -> book.id().equals(created.id())));
+            assertThat(patched.version()).isNotEqualTo(loaded.version());
+            assertThat(patched.byAuthor("Snapshot Author", Integer.MIN_VALUE, 10))
+                    .extracting(BookDTO::id).containsExactly(created.id());
+        } finally {
+            bookService.deleteBook(created.id());
+        }
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> bookSnapshotService.current().orElseThrow(),
+                        snapshot -> snapshot.all().stream().noneMatch(book -> book.id().equals(created.id())));
+    }
+
+    @Test
+    @DisplayName("Given: loaded snapshot, When: pinned to the primary, Then: listing reads and version come from the database")
+    void pinnedReadsBypassSnapshot() {
+        await().atMost(Duration.ofSeconds(5)).until(() -> bookSnapshotService.current().isPresent());
+
+        assertThat(ReplicaRouting.onPrimary(bookService::getListingVersion))
+                .isEqualTo(bookService.getCatalogueVersion());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.Book.Store.Application.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+        "book.response-cache.enabled=true",
+        "book.response-cache.max-bytes=1B",
+        "book.response-cache.rebuild-delay=0ms"})
+class CatalogueResponseCacheOversizedTest {
+    @Autowired
+    private CatalogueResponseCache catalogueResponseCache;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Given: listing larger than max-bytes, When: get the same version again, Then: it misses without rebuilding")
+    void oversizedVersionIsNotRebuilt() throws InterruptedException {
+        await().atMost(Duration.ofSeconds(5)).until(() -> oversizedCount() == 1);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(catalogueResponseCache.get(bookService.getListingVersion())).isEmpty();
+        }
+        Thread.sleep(200);
+
+        assertThat(oversizedCount()).isEqualTo(1);
+    }
+
+    private double oversizedCount() {
+        return meterRegistry.get("book.response-cache.oversized").functionCounter().count();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.Book.Store.Application.service;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.mock.MockBook;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+        "book.response-cache.enabled=true",
+        "book.response-cache.rebuild-delay=0ms"})
+class CatalogueResponseCacheTest {
+    @Autowired
+    private CatalogueResponseCache catalogueResponseCache;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Given: application is ready, When: get current version, Then: JSON and gzip copies of the listing are cached")
+    void cachesListingAtCurrentVersion() throws IOException {
+        CatalogueResponseCache.Entry entry = awaitEntry();
+
+        assertThat(entry.json()).isEqualTo(objectMapper.writeValueAsBytes(bookService.getAllBooks()));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(entry.gzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(entry.json());
+        }
+        assertThat(meterRegistry.get("book.response-cache.gets").tag("result", "hit").functionCounter().count())
+                .isPositive();
+        assertThat(meterRegistry.get("book.response-cache.bytes").tag("encoding", "gzip").gauge().value())
+                .isEqualTo(entry.gzip().length);
+    }
+
+    @Test
+    @DisplayName("Given: cached listing, When: a book is created and deleted, Then: old entry is not served and the new one includes the write")
+    void writesInvalidateAndRebuild() throws IOException {
+        String before = bookService.getListingVersion();
+        awaitEntry();
+
+        BookDTO created = bookService.createBook(MockBook.mockBookDTO(null, "Cached Title", "Cached Author", 2024)).orElseThrow();
+        try {
+            assertThat(bookService.getListingVersion()).isNotEqualTo(before);
+            List<BookDTO> cachedBooks = objectMapper.readValue(awaitEntry().json(), new TypeReference<List<BookDTO>>() {
+            });
+            assertThat(cachedBooks).extracting(BookDTO::id).contains(created.id());
+        } finally {
+            bookService.deleteBook(created.id());
+        }
+        List<BookDTO> cachedBooks = objectMapper.readValue(awaitEntry().json(), new TypeReference<List<BookDTO>>() {
+        });
+        assertThat(cachedBooks).extracting(BookDTO::id).doesNotContain(created.id());
+    }
+
+    private CatalogueResponseCache.Entry awaitEntry() {
+        return await().atMost(Duration.ofSeconds(5))
+                .until(() -> catalogueResponseCache.get(bookService.getListingVersion()).orElse(null),
+                        entry -> entry != null);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.Book.Store.Application.service;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.exception.InvalidRequestException;
+import com.example.Book.Store.Application.exception.PreconditionFailedException;
+import com.example.Book.Store.Application.mock.MockBook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"book.multi-get.chunk-size=2", "book.multi-get.max-ids=10"})
+class ReactiveBookServiceTest {
+    @Autowired
+    private ReactiveBookService reactiveBookService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Test
+    @DisplayName("Given: books created by both stacks, When: createBook, Then: ids never collide and both stacks read them")
+    void createBookSharesIdSequenceWithJpa() {
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < 60; i++) {
+            ids.add(reactiveBookService.createBook(newBook("Reactive")).block().id());
+            ids.add(bookService.createBook(newBook("Blocking")).orElseThrow().id());
+        }
+
+        assertThat(ids).hasSize(120);
+        Integer reactiveId = ids.iterator().next();
+        assertThat(bookService.getBookById(reactiveId)).isPresent();
+        ids.forEach(id -> reactiveBookService.deleteBook(id, null).block());
+    }
+
+    @Test
+    @DisplayName("Given: ids across several chunks with duplicates and a missing id, When: getBookByIds, Then: found books in request order")
+    void getBookByIdsKeepsRequestOrder() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(reactiveBookService.createBook(newBook("Ordered")).block().id());
+        }
+        List<Integer> requested = new ArrayList<>(ids);
+        Collections.reverse(requested);
+        requested.add(ids.get(0));
+        requested.add(Integer.MAX_VALUE);
+
+        StepVerifier.create(reactiveBookService.getBookByIds(requested))
+                .assertNext(books -> assertThat(books).extracting(BookDTO::id).containsExactlyElementsOf(requested.subList(0, 5)))
+                .verifyComplete();
+        ids.forEach(id -> reactiveBookService.deleteBook(id, null).block());
+    }
+
+    @Test
+    @DisplayName("Given: more ids than allowed, When: getBookByIds, Then: InvalidRequestException")
+    void getBookByIdsTooMany() {
+        StepVerifier.create(reactiveBookService.getBookByIds(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11)))
+                .expectError(InvalidRequestException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Given: expected version, When: updateBook twice with same version, Then: second fails with 412")
+    void updateBookChecksVersion() {
+        Integer id = reactiveBookService.createBook(newBook("Versioned")).block().id();
+
+        StepVerifier.create(reactiveBookService.updateBook(id, newBook("Versioned"), 0L))
+                .assertNext(book -> assertThat(book.version()).isEqualTo(1L))
+                .verifyComplete();
+        StepVerifier.create(reactiveBookService.updateBook(id, newBook("Versioned"), 0L))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+        assertThat(bookService.getBookById(id)).get().extracting(BookDTO::version).isEqualTo(1L);
+        reactiveBookService.deleteBook(id, 1L).block();
+    }
+
+    @Test
+    @DisplayName("Given: missing id, When: updateBook and deleteBook, Then: empty and false")
+    void updateAndDeleteMissingBook() {
+        StepVerifier.create(reactiveBookService.updateBook(Integer.MAX_VALUE, newBook("Missing"), 0L))
+                .verifyComplete();
+        StepVerifier.create(reactiveBookService.deleteBook(Integer.MAX_VALUE, null))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    private static BookDTO newBook(String prefix) {
+        return MockBook.mockBookDTO(null, prefix + " Title", prefix + " Author " + System.nanoTime(), 2020);
+    }
+}
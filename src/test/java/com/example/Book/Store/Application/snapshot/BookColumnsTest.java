@@ -0,0 +1,67 @@
+package com.example.Book.Store.Application.snapshot;
+
+import com.example.Book.Store.Application.dto.BookDTO;
+import com.example.Book.Store.Application.mock.MockBook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookColumnsTest {
+    private final BookColumns columns = BookColumns.of(List.of(
+            MockBook.mockBookDTO(4, "Dune", "Frank Herbert", 1965),
+            MockBook.mockBookDTO(1, "The Hobbit", "J. R. R. Tolkien", 1937),
+            MockBook.mockBookDTO(3, "Dune Messiah", "Frank Herbert", 1969),
+            MockBook.mockBookDTO(2, "The Lord of the Rings", "J. R. R. Tolkien", 1954),
+            MockBook.mockBookDTO(5, "Children of Dune", "Frank Herbert", 1954)), "v0");
+
+    @Test
+    @DisplayName("Given: books in any order, When: all, Then: books come back by id with their values")
+    void allReturnsBooksById() {
+        assertThat(columns.all()).extracting(BookDTO::id).containsExactly(1, 2, 3, 4, 5);
+        assertThat(columns.all().get(0)).isEqualTo(MockBook.mockBookDTO(1, "The Hobbit", "J. R. R. Tolkien", 1937));
+        assertThat(columns.authorDictionarySize()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Given: author and cursor, When: byAuthor, Then: books after the cursor by id up to limit")
+    void byAuthorPagesById() {
+        assertThat(columns.byAuthor("Frank Herbert", Integer.MIN_VALUE, 2)).extracting(BookDTO::id).containsExactly(3, 4);
+        assertThat(columns.byAuthor("Frank Herbert", 4, 2)).extracting(BookDTO::id).containsExactly(5);
+        assertThat(columns.byAuthor("Nobody", Integer.MIN_VALUE, 2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given: year range and cursor, When: byYearRange, Then: books by year and id resuming after the cursor")
+    void byYearRangePagesByYearAndId() {
+        assertThat(columns.byYearRange(1950, 1970, Integer.MIN_VALUE, 3)).extracting(BookDTO::id).containsExactly(2, 5, 4);
+        assertThat(columns.byYearRange(1954, 1970, 2, 3)).extracting(BookDTO::id).containsExactly(5, 4, 3);
+        assertThat(columns.byYearRange(1900, 1940, Integer.MIN_VALUE, 10)).extracting(BookDTO::id).containsExactly(1);
+        assertThat(columns.byYearRange(1970, 2000, Integer.MIN_VALUE, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given: create, update and delete, When: patch, Then: new snapshot has the changes and the old one is unchanged")
+    void patchCopiesOnWrite() {
+        Map<Integer, BookDTO> changes = new HashMap<>();
+        changes.put(6, MockBook.mockBookDTO(6, "Silmarillion", "J. R. R. Tolkien", 1977));
+        changes.put(4, MockBook.mockBookDTO(4, "Dune", "F. Herbert", 1965));
+        changes.put(1, null);
+
+        BookColumns patched = columns.patch(changes, "v1");
+
+        assertThat(patched.version()).isEqualTo("v1");
+        assertThat(patched.all()).extracting(BookDTO::id).containsExactly(2, 3, 4, 5, 6);
+        assertThat(patched.byAuthor("J. R. R. Tolkien", Integer.MIN_VALUE, 10)).extracting(BookDTO::id).containsExactly(2, 6);
+        assertThat(patched.byAuthor("F. Herbert", Integer.MIN_VALUE, 10)).extracting(BookDTO::id).containsExactly(4);
+        assertThat(patched.byYearRange(1900, 2000, Integer.MIN_VALUE, 10)).extracting(BookDTO::id).containsExactly(2, 5, 4, 3, 6);
+
+        assertThat(columns.version()).isEqualTo("v0");
+        assertThat(columns.all()).extracting(BookDTO::id).containsExactly(1, 2, 3, 4, 5);
+        assertThat(columns.byAuthor("F. Herbert", Integer.MIN_VALUE, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.Book.Store.Application.util;
+
+import com.example.Book.Store.Application.exception.PreconditionFailedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookETagsTest {
+    @Test
+    @DisplayName("Given: no header or *, When: expectedVersion, Then: any version is accepted")
+    void expectedVersionAny() {
+        assertThat(BookETags.expectedVersion(null, 1)).isNull();
+        assertThat(BookETags.expectedVersion("*", 1)).isNull();
+    }
+
+    @Test
+    @DisplayName("Given: tag list, When: expectedVersion, Then: version of the tag for this id")
+    void expectedVersionFromTags() {
+        assertThat(BookETags.expectedVersion("\"1-3\"", 1)).isEqualTo(3L);
+        assertThat(BookETags.expectedVersion("\"2-9\", \"12-5\"", 12)).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("Given: weak, malformed or other book's tag, When: expectedVersion, Then: throw PreconditionFailedException")
+    void expectedVersionNoMatch() {
+        assertThatThrownBy(() -> BookETags.expectedVersion("W/\"1-3\"", 1)).isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> BookETags.expectedVersion("\"1-x\"", 1)).isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> BookETags.expectedVersion("\"11-3\"", 1)).isInstanceOf(PreconditionFailedException.class);
+    }
+}
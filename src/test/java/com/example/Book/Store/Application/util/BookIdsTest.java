@@ -0,0 +1,42 @@
+package com.example.Book.Store.Application.util;
+
+import com.example.Book.Store.Application.mock.MockBook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookIdsTest {
+
+    @Test
+    @DisplayName("Given: ids with duplicates and nulls, When: distinct, Then: return ids in first occurrence order")
+    void distinct() {
+        assertThat(BookIds.distinct(Arrays.asList(3, null, 0, 3, -1, 0, 2)))
+                .containsExactly(3, 0, -1, 2);
+    }
+
+    @Test
+    @DisplayName("Given: requested and found ids, When: missing, Then: return missing ids once in request order")
+    void missing() {
+        List<Integer> missingIds = BookIds.missing(List.of(5, 1, 5, 7, 2),
+                List.of(MockBook.mockBookDTO(1, "Title", "Author", 2024), MockBook.mockBookDTO(2, "Title", "Author", 2024)));
+
+        assertThat(missingIds).containsExactly(5, 7);
+    }
+
+    @Test
+    @DisplayName("Given: many ids, When: add to IntHashSet, Then: set grows and keeps every id")
+    void intHashSetGrows() {
+        IntHashSet set = new IntHashSet(2);
+        IntStream.range(-500, 500).forEach(set::add);
+
+        assertThat(set.size()).isEqualTo(1000);
+        assertThat(IntStream.range(-500, 500).allMatch(set::contains)).isTrue();
+        assertThat(set.contains(500)).isFalse();
+        assertThat(set.add(0)).isFalse();
+    }
+}